@@ -0,0 +1,155 @@
+package com.bloomreach.garage.reservation.benchmark;
+
+import com.bloomreach.garage.reservation.api.component.AvailabilityEngine;
+import com.bloomreach.garage.reservation.api.component.ReferenceData;
+import com.bloomreach.garage.reservation.api.component.SlotCalculator;
+import com.bloomreach.garage.reservation.api.entity.GarageOperation;
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import com.bloomreach.garage.reservation.api.projection.BookedInterval;
+import com.bloomreach.garage.reservation.api.projection.WorkingHoursInterval;
+import com.bloomreach.garage.reservation.api.repository.EmployeeWorkingHoursRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageAppointmentOperationRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageAppointmentRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageBoxRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageOperationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the slot search of the {@link AvailabilityEngine} on in-memory data, without a database.
+ * <p>
+ * The repositories are replaced by stubs returning projections of the generated entities, so {@code warmEngine}
+ * measures the search against a loaded occupancy snapshot and {@code coldEngine} additionally
+ * measures building the snapshot.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityEngineBenchmark {
+
+    @Param({"2", "10"})
+    private int mechanics;
+
+    @Param({"2", "10"})
+    private int boxes;
+
+    @Param({"0", "50"})
+    private int bookingsPerDay;
+
+    @Param({"1", "3"})
+    private int operationsPerRequest;
+
+    private AvailabilityEngine availabilityEngine;
+    private LocalDate date;
+    private List<GarageOperation> operations;
+
+    @Setup
+    public void setUp() {
+        final BenchmarkData data = BenchmarkData.generate(LocalDate.now().plusDays(7), mechanics, boxes, bookingsPerDay);
+        data.assignIds();
+        final List<WorkingHoursInterval> workingHours = data.workingHours.stream()
+                .map(hours -> new WorkingHoursInterval(hours.getEmployee().getId(), hours.getDayOfWeek(),
+                        hours.getStartTime(), hours.getEndTime()))
+                .toList();
+        final List<BookedInterval> garageBoxBookings = data.appointments.stream()
+                .map(appointment -> new BookedInterval(appointment.getGarageBox().getId(), appointment.getDate(),
+                        appointment.getStartTime(), appointment.getEndTime()))
+                .toList();
+        final List<BookedInterval> mechanicBookings = data.appointments.stream()
+                .flatMap(appointment -> appointment.getOperations().stream())
+                .map(operation -> new BookedInterval(operation.getEmployee().getId(), operation.getAppointment().getDate(),
+                        operation.getStartTime(), operation.getEndTime()))
+                .toList();
+
+        final ReferenceData referenceData = new ReferenceData(
+                stub(GarageOperationRepository.class, Map.of("findAll", data.operations)),
+                stub(EmployeeWorkingHoursRepository.class, Map.of("findAllIntervals", workingHours)),
+                stub(GarageBoxRepository.class, Map.of("findAll", data.boxes)));
+        availabilityEngine = new AvailabilityEngine(
+                stub(GarageAppointmentOperationRepository.class, Map.of(
+                        "findEmployeeIntervalsByDate", mechanicBookings,
+                        "findEmployeeIntervalsByDateBetween", mechanicBookings)),
+                stub(GarageAppointmentRepository.class, Map.of(
+                        "findGarageBoxIntervalsByDate", garageBoxBookings,
+                        "findGarageBoxIntervalsByDateBetween", garageBoxBookings)),
+                referenceData,
+                new SlotCalculator(BenchmarkData.reservationProperties()),
+                BenchmarkData.reservationProperties(),
+                new NoTransactionManager());
+        date = data.date;
+        operations = data.operations(operationsPerRequest);
+        availabilityEngine.getDay(date);
+    }
+
+    @Benchmark
+    public List<AvailableSlot> warmEngine() {
+        return availabilityEngine.findAvailableSlots(date, operations);
+    }
+
+    @Benchmark
+    public List<AvailableSlot> coldEngine() {
+        availabilityEngine.evictAll();
+        return availabilityEngine.findAvailableSlots(date, operations);
+    }
+
+    /**
+     * Transaction manager without a database, the snapshot loads run directly against the repository stubs.
+     */
+    private static final class NoTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(final TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(final TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(final TransactionStatus status) {
+        }
+    }
+
+    /**
+     * Creates a repository stub answering the given query methods with fixed results. Default methods
+     * run their own implementation on top of the stubbed queries.
+     */
+    private static <T> T stub(final Class<T> repositoryType, final Map<String, Object> results) {
+        final InvocationHandler handler = (proxy, method, args) -> {
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            if (!results.containsKey(method.getName())) {
+                throw new UnsupportedOperationException(method.toString());
+            }
+            return results.get(method.getName());
+        };
+        return repositoryType.cast(Proxy.newProxyInstance(
+                repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, handler));
+    }
+}
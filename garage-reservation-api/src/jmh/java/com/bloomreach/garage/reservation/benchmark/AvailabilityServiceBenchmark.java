@@ -0,0 +1,81 @@
+package com.bloomreach.garage.reservation.benchmark;
+
+import com.bloomreach.garage.reservation.api.component.AvailabilityEngine;
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import com.bloomreach.garage.reservation.api.service.AvailabilityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AvailabilityService#findAvailableSlots(LocalDate, List)} end to end against the
+ * in-memory H2 database.
+ * <p>
+ * {@code warmEngine} searches a date whose occupancy is already loaded, {@code coldEngine} drops the
+ * loaded occupancy first so every search reads the date from the database.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityServiceBenchmark {
+
+    @Param({"2", "10"})
+    private int mechanics;
+
+    @Param({"2", "10"})
+    private int boxes;
+
+    @Param({"0", "50"})
+    private int bookingsPerDay;
+
+    @Param({"1", "3"})
+    private int operationsPerRequest;
+
+    private GarageContext garage;
+    private AvailabilityService availabilityService;
+    private AvailabilityEngine availabilityEngine;
+    private LocalDate date;
+    private List<Long> operationIds;
+
+    @Setup
+    public void setUp() {
+        garage = GarageContext.start(BenchmarkData.generate(LocalDate.now().plusDays(7), mechanics, boxes, bookingsPerDay));
+        availabilityService = garage.getBean(AvailabilityService.class);
+        availabilityEngine = garage.getBean(AvailabilityEngine.class);
+        date = garage.data.date;
+        operationIds = garage.data.operationIds(operationsPerRequest);
+    }
+
+    @TearDown
+    public void tearDown() {
+        garage.close();
+    }
+
+    @Benchmark
+    public List<AvailableSlot> warmEngine() {
+        return availabilityService.findAvailableSlots(date, operationIds);
+    }
+
+    @Benchmark
+    public List<AvailableSlot> coldEngine() {
+        availabilityEngine.evictAll();
+        return availabilityService.findAvailableSlots(date, operationIds);
+    }
+}
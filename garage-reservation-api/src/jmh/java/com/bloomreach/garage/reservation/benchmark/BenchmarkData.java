@@ -0,0 +1,168 @@
+package com.bloomreach.garage.reservation.benchmark;
+
+import com.bloomreach.garage.reservation.api.entity.Customer;
+import com.bloomreach.garage.reservation.api.entity.Employee;
+import com.bloomreach.garage.reservation.api.entity.EmployeeWorkingHours;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointmentOperation;
+import com.bloomreach.garage.reservation.api.entity.GarageBox;
+import com.bloomreach.garage.reservation.api.entity.GarageOperation;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic garage of a single benchmark date.
+ * <p>
+ * All mechanics work from 08:00 to 17:00. Existing bookings are 30-minute single-operation appointments
+ * spread over the mechanics and boxes from the start of the day. The last {@link #MAX_OPERATIONS} slots of
+ * the day are always left free, so a booking of up to that many operations ending at 17:00 succeeds.
+ * </p>
+ */
+final class BenchmarkData {
+
+    static final int MAX_OPERATIONS = 5;
+    static final int OPERATION_DURATION = 30;
+    static final LocalTime DAY_START = LocalTime.of(8, 0);
+    static final LocalTime DAY_END = LocalTime.of(17, 0);
+
+    final LocalDate date;
+    final Customer customer = new Customer();
+    final List<Employee> mechanics = new ArrayList<>();
+    final List<EmployeeWorkingHours> workingHours = new ArrayList<>();
+    final List<GarageBox> boxes = new ArrayList<>();
+    final List<GarageOperation> operations = new ArrayList<>();
+    final List<GarageAppointment> appointments = new ArrayList<>();
+
+    private BenchmarkData(final LocalDate date) {
+        this.date = date;
+    }
+
+    /**
+     * Generates the entities of a synthetic garage, without IDs.
+     *
+     * @param date           The date the working hours and bookings are generated for.
+     * @param mechanicCount  The number of mechanics working on the date.
+     * @param boxCount       The number of garage boxes.
+     * @param bookingsPerDay The number of existing bookings on the date, capped by the capacity of the day.
+     * @return The generated garage.
+     */
+    static BenchmarkData generate(final LocalDate date, final int mechanicCount, final int boxCount,
+                                  final int bookingsPerDay) {
+        final BenchmarkData data = new BenchmarkData(date);
+        data.customer.setFullName("Benchmark Customer");
+        data.customer.setPhoneNumber("000-000-0000");
+
+        for (int i = 0; i < mechanicCount; i++) {
+            final Employee mechanic = new Employee();
+            mechanic.setFullName("Benchmark Mechanic " + i);
+            mechanic.setEmployeeTypeId("1");
+            data.mechanics.add(mechanic);
+
+            final EmployeeWorkingHours hours = new EmployeeWorkingHours();
+            hours.setEmployee(mechanic);
+            hours.setDayOfWeek(date.getDayOfWeek());
+            hours.setStartTime(DAY_START);
+            hours.setEndTime(DAY_END);
+            data.workingHours.add(hours);
+        }
+
+        for (int i = 0; i < boxCount; i++) {
+            final GarageBox box = new GarageBox();
+            box.setName("Benchmark Box " + i);
+            data.boxes.add(box);
+        }
+
+        for (int i = 0; i < MAX_OPERATIONS; i++) {
+            final GarageOperation operation = new GarageOperation();
+            operation.setName("Benchmark Operation " + i);
+            operation.setDurationInMinutes(OPERATION_DURATION);
+            data.operations.add(operation);
+        }
+
+        // Fill the day lane by lane, keeping the last slots free for the benchmarked bookings
+        final int lanes = Math.min(mechanicCount, boxCount);
+        final int bookableRows = (DAY_END.toSecondOfDay() - DAY_START.toSecondOfDay()) / 60 / OPERATION_DURATION
+                - MAX_OPERATIONS;
+        final int bookings = Math.min(bookingsPerDay, lanes * bookableRows);
+        for (int i = 0; i < bookings; i++) {
+            final LocalTime start = DAY_START.plusMinutes((long) (i / lanes) * OPERATION_DURATION);
+            final LocalTime end = start.plusMinutes(OPERATION_DURATION);
+            final GarageAppointment appointment = GarageAppointment.builder()
+                    .customer(data.customer)
+                    .garageBox(data.boxes.get(i % lanes))
+                    .date(date)
+                    .startTime(start)
+                    .endTime(end)
+                    .build();
+            appointment.setOperations(new ArrayList<>(List.of(GarageAppointmentOperation.builder()
+                    .appointment(appointment)
+                    .operation(data.operations.get(0))
+                    .employee(data.mechanics.get(i % lanes))
+                    .startTime(start)
+                    .endTime(end)
+                    .build())));
+            data.appointments.add(appointment);
+        }
+
+        return data;
+    }
+
+    /**
+     * Assigns sequential IDs to all generated entities, for benchmarks that do not persist them.
+     */
+    void assignIds() {
+        long id = 1;
+        customer.setId(id++);
+        for (final Employee mechanic : mechanics) {
+            mechanic.setId(id++);
+        }
+        for (final EmployeeWorkingHours hours : workingHours) {
+            hours.setId(id++);
+        }
+        for (final GarageBox box : boxes) {
+            box.setId(id++);
+        }
+        for (final GarageOperation operation : operations) {
+            operation.setId(id++);
+        }
+        for (final GarageAppointment appointment : appointments) {
+            appointment.setId(id++);
+            for (final GarageAppointmentOperation operation : appointment.getOperations()) {
+                operation.setId(id++);
+            }
+        }
+    }
+
+    /**
+     * Returns the first {@code count} generated operations.
+     */
+    List<GarageOperation> operations(final int count) {
+        return operations.subList(0, count);
+    }
+
+    /**
+     * Returns the IDs of the first {@code count} generated operations.
+     */
+    List<Long> operationIds(final int count) {
+        return operations(count).stream().map(GarageOperation::getId).toList();
+    }
+
+    /**
+     * Returns reservation properties matching the defaults of application.yml.
+     */
+    static ReservationProperties reservationProperties() {
+        final ReservationProperties properties = new ReservationProperties();
+        properties.setMaxAdvanceDays(14);
+        properties.setMinAdvanceMinutes(30);
+        properties.setDefaultSlotDuration(30);
+        properties.setBookingLockStripes(64);
+        properties.setBookingLockTimeoutMillis(5000);
+        properties.setAvailabilityParallelism(4);
+        properties.setMaxBatchSize(50);
+        return properties;
+    }
+}
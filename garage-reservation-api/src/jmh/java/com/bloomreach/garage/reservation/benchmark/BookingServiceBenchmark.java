@@ -0,0 +1,95 @@
+package com.bloomreach.garage.reservation.benchmark;
+
+import com.bloomreach.garage.reservation.api.component.AvailabilityEngine;
+import com.bloomreach.garage.reservation.api.model.BookingRequest;
+import com.bloomreach.garage.reservation.api.model.BookingResponse;
+import com.bloomreach.garage.reservation.api.service.BookingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BookingService#bookAppointment(BookingRequest)} end to end against the in-memory
+ * H2 database.
+ * <p>
+ * Every invocation books the same slot at the end of the day, which the generated bookings always
+ * leave free. The booking of the previous invocation is deleted before the next one, outside of the
+ * measured time.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+
+    @Param({"2", "10"})
+    private int mechanics;
+
+    @Param({"2", "10"})
+    private int boxes;
+
+    @Param({"0", "50"})
+    private int bookingsPerDay;
+
+    @Param({"1", "3"})
+    private int operationsPerRequest;
+
+    private GarageContext garage;
+    private BookingService bookingService;
+    private AvailabilityEngine availabilityEngine;
+    private JdbcTemplate jdbcTemplate;
+    private BookingRequest request;
+    private long lastSeededAppointmentId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        garage = GarageContext.start(BenchmarkData.generate(LocalDate.now().plusDays(7), mechanics, boxes, bookingsPerDay));
+        bookingService = garage.getBean(BookingService.class);
+        availabilityEngine = garage.getBean(AvailabilityEngine.class);
+        jdbcTemplate = garage.getBean(JdbcTemplate.class);
+        lastSeededAppointmentId = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) FROM garage_appointments", Long.class);
+
+        request = new BookingRequest();
+        request.setCustomerId(garage.data.customer.getId());
+        request.setOperationIds(garage.data.operationIds(operationsPerRequest));
+        request.setDate(garage.data.date);
+        request.setStartTime(BenchmarkData.DAY_END.minusMinutes(
+                (long) operationsPerRequest * BenchmarkData.OPERATION_DURATION));
+        request.setEndTime(BenchmarkData.DAY_END);
+    }
+
+    @Setup(Level.Invocation)
+    public void deleteBenchmarkedBookings() {
+        jdbcTemplate.update("DELETE FROM garage_appointment_operations WHERE appointment_id > ?", lastSeededAppointmentId);
+        jdbcTemplate.update("DELETE FROM garage_appointments WHERE id > ?", lastSeededAppointmentId);
+        availabilityEngine.evictAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        garage.close();
+    }
+
+    @Benchmark
+    public BookingResponse bookAppointment() {
+        return bookingService.bookAppointment(request);
+    }
+}
@@ -0,0 +1,85 @@
+package com.bloomreach.garage.reservation.benchmark;
+
+import com.bloomreach.garage.reservation.Application;
+import com.bloomreach.garage.reservation.api.component.AvailabilityEngine;
+import com.bloomreach.garage.reservation.api.component.ReferenceData;
+import com.bloomreach.garage.reservation.api.repository.CustomerRepository;
+import com.bloomreach.garage.reservation.api.repository.EmployeeRepository;
+import com.bloomreach.garage.reservation.api.repository.EmployeeWorkingHoursRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageAppointmentRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageBoxRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageOperationRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Application context backed by the in-memory H2 database, seeded with a {@link BenchmarkData} garage.
+ * <p>
+ * The context runs without the web layer and without the slots cache, so end-to-end benchmarks measure
+ * the services and the database rather than cache hits.
+ * </p>
+ */
+final class GarageContext implements AutoCloseable {
+
+    private static final String[] SEEDED_TABLES = {
+            "garage_appointment_operations",
+            "garage_appointments",
+            "booking_days",
+            "employee_working_hours",
+            "employees",
+            "garage_boxes",
+            "garage_operations",
+            "customers"
+    };
+
+    final ConfigurableApplicationContext context;
+    final BenchmarkData data;
+
+    private GarageContext(final ConfigurableApplicationContext context, final BenchmarkData data) {
+        this.context = context;
+        this.data = data;
+    }
+
+    /**
+     * Starts the application and replaces the sample data with the given garage.
+     *
+     * @param data The garage to seed, its entities receive their database IDs.
+     * @return The started context.
+     */
+    static GarageContext start(final BenchmarkData data) {
+        final ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.cache.type=none",
+                        "garage.reservation.warmup-enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        final JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (final String table : SEEDED_TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+
+        context.getBean(CustomerRepository.class).save(data.customer);
+        context.getBean(EmployeeRepository.class).saveAll(data.mechanics);
+        context.getBean(EmployeeWorkingHoursRepository.class).saveAll(data.workingHours);
+        context.getBean(GarageBoxRepository.class).saveAll(data.boxes);
+        context.getBean(GarageOperationRepository.class).saveAll(data.operations);
+        context.getBean(GarageAppointmentRepository.class).saveAll(data.appointments);
+        context.getBean(ReferenceData.class).refresh();
+        context.getBean(AvailabilityEngine.class).evictAll();
+
+        return new GarageContext(context, data);
+    }
+
+    <T> T getBean(final Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,184 @@
+package com.bloomreach.garage.reservation.benchmark;
+
+import com.bloomreach.garage.reservation.api.component.AppointmentBuilder;
+import com.bloomreach.garage.reservation.api.component.DayOccupancy;
+import com.bloomreach.garage.reservation.api.component.MechanicAssignmentStrategy;
+import com.bloomreach.garage.reservation.api.component.OperationAssignment;
+import com.bloomreach.garage.reservation.api.component.SlotCalculator;
+import com.bloomreach.garage.reservation.api.entity.Employee;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointmentOperation;
+import com.bloomreach.garage.reservation.api.entity.GarageBox;
+import com.bloomreach.garage.reservation.api.entity.GarageOperation;
+import com.bloomreach.garage.reservation.api.projection.WorkingHoursInterval;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.bloomreach.garage.reservation.api.component.IntervalIndex.toLocalTime;
+import static com.bloomreach.garage.reservation.api.component.IntervalIndex.toMinuteOfDay;
+
+/**
+ * Replays a synthetic day of bookings with each {@link MechanicAssignmentStrategy} and reports the capacity
+ * utilization it reaches.
+ * <p>
+ * Every iteration simulates one day, generated from the iteration number, so all strategies replay the
+ * same days. Customers arrive one by one with a preferred start time and one to three operations of 30 to
+ * 180 minutes, and take the first slot at or after it for which the strategy assigns their operations and
+ * a garage box is free. Demand is about twice the capacity of the mechanics.
+ * </p>
+ * <p>
+ * Besides the time per simulated day, the counters report the customers that did ({@code booked}) and did not
+ * ({@code rejected}) get an appointment, and the booked and working minutes of the mechanics. Counters are
+ * summed over all simulated days, so {@code bookedMinutes / workingMinutes} is the capacity utilization.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 50)
+@Fork(1)
+public class MechanicAssignmentBenchmark {
+
+    private static final int[] OPERATION_DURATIONS = {30, 60, 90, 180};
+    private static final int SLOT_STEP = 30;
+    private static final int DAY_START = toMinuteOfDay(BenchmarkData.DAY_START);
+    private static final int DAY_END = toMinuteOfDay(BenchmarkData.DAY_END);
+
+    @Param({"FIRST_AVAILABLE", "LEAST_LOADED", "BEST_FIT", "SPLIT"})
+    private MechanicAssignmentStrategy strategy;
+
+    @Param({"4", "10"})
+    private int mechanics;
+
+    private final LocalDate date = LocalDate.now().plusDays(7);
+    private final List<WorkingHoursInterval> workingHours = new ArrayList<>();
+    private final Map<Long, Employee> employees = new HashMap<>();
+    private final Map<Long, GarageBox> boxes = new HashMap<>();
+    private final List<GarageOperation> operations = new ArrayList<>();
+    private AppointmentBuilder appointmentBuilder;
+    private int day;
+
+    /**
+     * Outcome of the simulated day, reported next to the time it took.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcome {
+
+        public long booked;
+        public long rejected;
+        public long bookedMinutes;
+        public long workingMinutes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            booked = 0;
+            rejected = 0;
+            bookedMinutes = 0;
+            workingMinutes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Equally many mechanics and garage boxes, working the whole day
+        for (long id = 1; id <= mechanics; id++) {
+            final Employee mechanic = new Employee();
+            mechanic.setId(id);
+            employees.put(id, mechanic);
+            workingHours.add(new WorkingHoursInterval(id, date.getDayOfWeek(), BenchmarkData.DAY_START, BenchmarkData.DAY_END));
+
+            final GarageBox box = new GarageBox();
+            box.setId(id);
+            boxes.put(id, box);
+        }
+
+        for (int i = 0; i < OPERATION_DURATIONS.length; i++) {
+            final GarageOperation operation = new GarageOperation();
+            operation.setId(i + 1L);
+            operation.setDurationInMinutes(OPERATION_DURATIONS[i]);
+            operations.add(operation);
+        }
+
+        final ReservationProperties properties = BenchmarkData.reservationProperties();
+        properties.setMechanicAssignment(strategy);
+        appointmentBuilder = new AppointmentBuilder(properties);
+    }
+
+    @Benchmark
+    public DayOccupancy simulateDay(final Outcome outcome) {
+        final Random random = new Random(day++);
+        DayOccupancy occupancy = DayOccupancy.of(date, workingHours, boxes.keySet(), List.of(), List.of());
+
+        for (int customer = 0; customer < mechanics * 6; customer++) {
+            final List<GarageOperation> requested = randomOperations(random);
+            final int duration = SlotCalculator.totalDuration(requested);
+            final int preferredStart = DAY_START + random.nextInt((DAY_END - DAY_START) / SLOT_STEP) * SLOT_STEP;
+
+            final GarageAppointment appointment = book(occupancy, preferredStart, duration, requested);
+            if (appointment == null) {
+                outcome.rejected++;
+                continue;
+            }
+
+            occupancy = occupancy.withAppointment(appointment);
+            for (final GarageAppointmentOperation operation : appointment.getOperations()) {
+                outcome.bookedMinutes += toMinuteOfDay(operation.getEndTime()) - toMinuteOfDay(operation.getStartTime());
+            }
+            outcome.booked++;
+        }
+
+        outcome.workingMinutes += (long) mechanics * (DAY_END - DAY_START);
+        return occupancy;
+    }
+
+    private GarageAppointment book(final DayOccupancy occupancy, final int preferredStart, final int duration,
+                                   final List<GarageOperation> requested) {
+        for (int start = preferredStart; start + duration <= DAY_END; start += SLOT_STEP) {
+            final Optional<Long> box = occupancy.findBestFitBox(start, start + duration);
+            if (box.isEmpty()) {
+                continue;
+            }
+
+            final Optional<List<OperationAssignment>> assignments =
+                    appointmentBuilder.assignMechanics(occupancy, toLocalTime(start), requested);
+            if (assignments.isPresent()) {
+                return appointmentBuilder.buildAppointment(null, date, toLocalTime(start),
+                        toLocalTime(start + duration), boxes.get(box.get()), assignments.get(), employees);
+            }
+        }
+        return null;
+    }
+
+    private List<GarageOperation> randomOperations(final Random random) {
+        final List<GarageOperation> remaining = new ArrayList<>(operations);
+        final List<GarageOperation> requested = new ArrayList<>();
+        final int count = 1 + random.nextInt(3);
+        for (int i = 0; i < count; i++) {
+            requested.add(remaining.remove(random.nextInt(remaining.size())));
+        }
+        return requested;
+    }
+}
@@ -0,0 +1,69 @@
+package com.bloomreach.garage.reservation.benchmark;
+
+import com.bloomreach.garage.reservation.api.component.IntervalIndex;
+import com.bloomreach.garage.reservation.api.component.SlotCalculator;
+import com.bloomreach.garage.reservation.api.entity.EmployeeWorkingHours;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures collecting candidate slots from {@link SlotCalculator#template(int, int, int)} on in-memory
+ * working hours and operations, with a cached template and with a template computed on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlotCalculatorBenchmark {
+
+    @Param({"1", "3", "5"})
+    private int operationsPerRequest;
+
+    private SlotCalculator slotCalculator;
+    private int workStart;
+    private int workEnd;
+    private int duration;
+    private BitSet slotStarts;
+
+    @Setup
+    public void setUp() {
+        final BenchmarkData data = BenchmarkData.generate(LocalDate.now().plusDays(7), 1, 1, 0);
+        data.assignIds();
+
+        slotCalculator = new SlotCalculator(BenchmarkData.reservationProperties());
+        final EmployeeWorkingHours workingHours = data.workingHours.get(0);
+        workStart = IntervalIndex.toMinuteOfDay(workingHours.getStartTime());
+        workEnd = IntervalIndex.toMinuteOfDay(workingHours.getEndTime());
+        duration = SlotCalculator.totalDuration(data.operations(operationsPerRequest));
+        slotStarts = new BitSet(IntervalIndex.MINUTES_PER_DAY);
+    }
+
+    @Benchmark
+    public BitSet cachedTemplate() {
+        slotStarts.clear();
+        slotCalculator.template(workStart, workEnd, duration).addTo(slotStarts);
+        return slotStarts;
+    }
+
+    @Benchmark
+    public BitSet computedTemplate() {
+        slotStarts.clear();
+        new SlotCalculator(BenchmarkData.reservationProperties()).template(workStart, workEnd, duration).addTo(slotStarts);
+        return slotStarts;
+    }
+}
@@ -0,0 +1,40 @@
+package com.bloomreach.garage.reservation.api.actuator;
+
+import com.bloomreach.garage.reservation.api.model.AvailabilityWarmupStatus;
+import com.bloomreach.garage.reservation.api.service.AvailabilityWarmupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint reporting and triggering the warm-up of the available slots cache.
+ * <p>
+ * {@code GET /actuator/warmup} returns the progress of the latest warm-up, {@code POST /actuator/warmup}
+ * starts a new one, for example after the working hours have been changed for many dates.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+@Endpoint(id = "warmup")
+public class AvailabilityWarmupEndpoint {
+
+    private final AvailabilityWarmupService availabilityWarmupService;
+
+    @ReadOperation
+    public AvailabilityWarmupStatus status() {
+        return availabilityWarmupService.getStatus();
+    }
+
+    /**
+     * Starts a warm-up unless one is already running.
+     *
+     * @return The status of the started warm-up, or of the one already running.
+     */
+    @WriteOperation
+    public AvailabilityWarmupStatus start() {
+        availabilityWarmupService.start();
+        return availabilityWarmupService.getStatus();
+    }
+}
@@ -0,0 +1,33 @@
+package com.bloomreach.garage.reservation.api.actuator;
+
+import com.bloomreach.garage.reservation.api.model.AvailabilityWarmupStatus;
+import com.bloomreach.garage.reservation.api.service.AvailabilityWarmupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the instance as out of service while the available slots cache is being warmed up.
+ * <p>
+ * Part of the readiness group, so traffic is only routed to the instance once the warm-up has completed
+ * or timed out.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+public class AvailabilityWarmupHealthIndicator implements HealthIndicator {
+
+    private final AvailabilityWarmupService availabilityWarmupService;
+
+    @Override
+    public Health health() {
+        final AvailabilityWarmupStatus status = availabilityWarmupService.getStatus();
+        final Health.Builder health = status.getState().isReady() ? Health.up() : Health.outOfService();
+        return health
+                .withDetail("state", status.getState())
+                .withDetail("entries", status.getEntries())
+                .withDetail("computedEntries", status.getComputedEntries())
+                .build();
+    }
+}
@@ -8,77 +8,94 @@ import com.bloomreach.garage.reservation.api.entity.GarageBox;
 import com.bloomreach.garage.reservation.api.entity.GarageOperation;
 import com.bloomreach.garage.reservation.api.error.ErrorMessage;
 import com.bloomreach.garage.reservation.api.error.ProcessingError;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.bloomreach.garage.reservation.api.component.IntervalIndex.toLocalTime;
+import static com.bloomreach.garage.reservation.api.component.IntervalIndex.toMinuteOfDay;
 
 /**
  * Constructs a GarageAppointment and assigns mechanics to operations.
+ * <p>
+ * Mechanics are assigned by the {@link MechanicAssignmentStrategy} configured as
+ * {@code garage.reservation.mechanic-assignment}.
+ * </p>
  */
+@RequiredArgsConstructor
 @Component
 public class AppointmentBuilder {
 
+    private final ReservationProperties reservationProperties;
+
+    /**
+     * Assigns the operations of an appointment to mechanics based on the occupancy of its date.
+     *
+     * @param day        The current occupancy of the date of the appointment.
+     * @param startTime  The start time of the appointment.
+     * @param operations The list of operations to be performed.
+     * @return The assignment of every operation, or empty if no mechanic is free for them.
+     */
+    public Optional<List<OperationAssignment>> assignMechanics(final DayOccupancy day, final LocalTime startTime,
+                                                               final List<GarageOperation> operations) {
+        return reservationProperties.getMechanicAssignment().assign(day, toMinuteOfDay(startTime), operations);
+    }
+
     /**
-     * Creates a new appointment with the specified details and assigns mechanics to each operation.
+     * Creates a new appointment with the specified details and the operations assigned to mechanics.
+     * <p>
+     * An appointment whose operations are split across mechanics ends with its last operation, which may be
+     * earlier than the requested end time.
+     * </p>
      *
-     * @param customer           The customer making the appointment.
-     * @param date               The date of the appointment.
-     * @param startTime          The start time of the appointment.
-     * @param endTime            The end time of the appointment.
-     * @param garageBox          The garage box allocated for the appointment.
-     * @param operations         The list of operations to be performed.
-     * @param availableMechanics The list of available mechanics.
+     * @param customer    The customer making the appointment.
+     * @param date        The date of the appointment.
+     * @param startTime   The start time of the appointment.
+     * @param endTime     The end time of the appointment.
+     * @param garageBox   The garage box allocated for the appointment.
+     * @param assignments The operations to be performed, assigned to mechanics.
+     * @param mechanics   The assigned mechanics by ID.
      * @return The constructed GarageAppointment entity.
+     * @throws ProcessingError if an assigned mechanic is not found.
      */
     public GarageAppointment buildAppointment(final Customer customer, final LocalDate date,
                                               final LocalTime startTime, final LocalTime endTime,
-                                              final GarageBox garageBox, final List<GarageOperation> operations,
-                                              final List<Employee> availableMechanics) {
+                                              final GarageBox garageBox, final List<OperationAssignment> assignments,
+                                              final Map<Long, Employee> mechanics) {
+        // Operations performed in parallel end the appointment with the last of them
+        final boolean split = assignments.stream().map(OperationAssignment::employeeId).distinct().count() > 1;
+        final LocalTime lastOperationEndTime = toLocalTime(MechanicAssignmentStrategy.end(assignments));
+
         // Create a new appointment with the given details
         final GarageAppointment appointment = GarageAppointment.builder()
                 .customer(customer)
                 .date(date)
                 .startTime(startTime)
-                .endTime(endTime)
+                .endTime(split && lastOperationEndTime.isBefore(endTime) ? lastOperationEndTime : endTime)
                 .garageBox(garageBox)
                 .build();
 
-        // Track the current time in the appointment
-        final AtomicReference<LocalTime> currentOperationStartTime = new AtomicReference<>(startTime);
-
-        // Assign mechanics to each operation and calculate appointment operations
-        final List<GarageAppointmentOperation> appointmentOperations = operations.stream()
-                .map(operation -> {
-                    // Calculate the end time for this operation
-                    final Integer operationDuration = operation.getDurationInMinutes();
-                    final LocalTime operationEndTime = currentOperationStartTime.get().plusMinutes(operationDuration);
-
-                    // Ensure at least one mechanic is available for this operation
-                    if (availableMechanics.isEmpty()) {
+        // Create the appointment operations with their assigned mechanics
+        final List<GarageAppointmentOperation> appointmentOperations = assignments.stream()
+                .map(assignment -> {
+                    final Employee assignedMechanic = mechanics.get(assignment.employeeId());
+                    if (assignedMechanic == null) {
                         throw new ProcessingError(ErrorMessage.NO_AVAILABLE_MECHANICS_FOR_THIS_OPERATION);
                     }
 
-                    // Assign the first available mechanic to the operation
-                    final Employee assignedMechanic = availableMechanics.stream()
-                            .findFirst()
-                            .orElseThrow(() -> new ProcessingError(ErrorMessage.NO_AVAILABLE_MECHANICS_FOR_THIS_OPERATION));
-
-                    // Create and return the appointment operation with the assigned mechanic
-                    final GarageAppointmentOperation appointmentOperation = GarageAppointmentOperation.builder()
+                    return GarageAppointmentOperation.builder()
                             .appointment(appointment)
-                            .operation(operation)
+                            .operation(assignment.operation())
                             .employee(assignedMechanic)
-                            .startTime(currentOperationStartTime.get())
-                            .endTime(operationEndTime)
+                            .startTime(toLocalTime(assignment.from()))
+                            .endTime(toLocalTime(assignment.to()))
                             .build();
-
-                    // Update the start time for the next operation
-                    currentOperationStartTime.set(operationEndTime);
-
-                    return appointmentOperation;
                 })
                 .toList();
 
@@ -0,0 +1,338 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+import com.bloomreach.garage.reservation.api.entity.GarageOperation;
+import com.bloomreach.garage.reservation.api.event.AppointmentBookedEvent;
+import com.bloomreach.garage.reservation.api.event.BookingDayRevisedEvent;
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import com.bloomreach.garage.reservation.api.projection.BookedInterval;
+import com.bloomreach.garage.reservation.api.projection.WorkingHoursInterval;
+import com.bloomreach.garage.reservation.api.repository.GarageAppointmentOperationRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageAppointmentRepository;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static com.bloomreach.garage.reservation.api.component.IntervalIndex.toLocalTime;
+import static com.bloomreach.garage.reservation.api.component.IntervalIndex.toMinuteOfDay;
+
+/**
+ * In-memory availability engine keeping one {@link DayOccupancy} snapshot per date.
+ * <p>
+ * A snapshot is loaded from the database the first time its date is requested and is then kept
+ * up to date incrementally from committed bookings, so slot searches run against the occupancy
+ * interval indexes instead of querying booked operations per mechanic.
+ * </p>
+ * <p>
+ * Bookings reuse the snapshot of their date as long as its revision matches the revision of the locked
+ * date, so allocating a garage box and mechanics does not query the booked intervals again. Snapshots of
+ * dates booked through other instances sharing the database are dropped by the
+ * {@link com.bloomreach.garage.reservation.api.service.AvailabilitySyncService} within one sync interval.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+public class AvailabilityEngine {
+
+    /**
+     * Order of the committed booking listener, other listeners relying on the updated occupancy
+     * must run after it.
+     */
+    public static final int BOOKING_LISTENER_ORDER = 0;
+
+    private final GarageAppointmentOperationRepository garageAppointmentOperationRepository;
+    private final GarageAppointmentRepository garageAppointmentRepository;
+    private final ReferenceData referenceData;
+    private final SlotCalculator slotCalculator;
+    private final ReservationProperties reservationProperties;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ConcurrentMap<LocalDate, DayOccupancy> days = new ConcurrentHashMap<>();
+    private final AtomicLong bookingEvents = new AtomicLong();
+
+    /**
+     * Finds the time slots on the given date during which a mechanic and a garage box are free
+     * for the whole duration of the operations.
+     *
+     * @param date       The date for which to find available slots.
+     * @param operations The operations to accommodate within the time slots.
+     * @return The available time slots, ordered by start time.
+     */
+    public List<AvailableSlot> findAvailableSlots(final LocalDate date, final List<GarageOperation> operations) {
+        return findAvailableSlots(date, operations, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds the earliest time slots on the given date during which a mechanic and a garage box are free
+     * for the whole duration of the operations.
+     * <p>
+     * Candidate slots are checked in start time order and the search stops as soon as {@code limit}
+     * available slots are found. On the current date, slots starting within the minimum advance time
+     * are skipped.
+     * </p>
+     *
+     * @param date       The date for which to find available slots.
+     * @param operations The operations to accommodate within the time slots.
+     * @param limit      The maximum number of slots to return.
+     * @return At most {@code limit} available time slots, ordered by start time.
+     */
+    public List<AvailableSlot> findAvailableSlots(final LocalDate date, final List<GarageOperation> operations,
+                                                  final int limit) {
+        final DayOccupancy day = getDay(date);
+        final int earliestStart = earliestStartMinute(date);
+        final int duration = SlotCalculator.totalDuration(operations);
+
+        // Collect the candidate start minutes of all mechanics from their slot templates, a bit set iterates them in order
+        final List<WorkingHoursInterval> workingHours = day.getWorkingHours();
+        final SlotTemplate[] templates = new SlotTemplate[workingHours.size()];
+        final BitSet slotStarts = new BitSet(IntervalIndex.MINUTES_PER_DAY);
+        for (int i = 0; i < templates.length; i++) {
+            templates[i] = slotCalculator.template(toMinuteOfDay(workingHours.get(i).startTime()),
+                    toMinuteOfDay(workingHours.get(i).endTime()), duration);
+            templates[i].addTo(slotStarts);
+        }
+
+        // Check the candidates from the minimum advance cutoff on, in order, until enough available slots are found
+        final List<AvailableSlot> availableSlots = new ArrayList<>();
+        int start = slotStarts.nextSetBit(earliestStart);
+        while (start >= 0 && availableSlots.size() < limit) {
+            // No garage box is free before its next gap long enough for the operations, skip the candidates up to it
+            final int boxStart = day.nextFreeBoxStart(start, duration);
+            if (boxStart < 0) {
+                break;
+            }
+            if (boxStart > start) {
+                start = slotStarts.nextSetBit(boxStart);
+                continue;
+            }
+
+            final int end = start + duration;
+            if (isAnyMechanicFree(day, templates, start, end)) {
+                availableSlots.add(new AvailableSlot(toLocalTime(start), toLocalTime(end)));
+            }
+            start = slotStarts.nextSetBit(start + 1);
+        }
+
+        return availableSlots;
+    }
+
+    /**
+     * Returns the occupancy snapshot of the given date, loading it from the database if needed.
+     *
+     * @param date The date of the snapshot.
+     * @return The current occupancy snapshot of the date.
+     */
+    public DayOccupancy getDay(final LocalDate date) {
+        final DayOccupancy day = days.get(date);
+        if (day != null) {
+            return day;
+        }
+
+        // Drop snapshots of past dates before adding a new one, they can no longer be booked
+        final LocalDate today = LocalDate.now();
+        days.keySet().removeIf(cachedDate -> cachedDate.isBefore(today));
+
+        return days.computeIfAbsent(date, this::loadDay);
+    }
+
+    /**
+     * Returns the occupancy snapshot of the given date if it reflects the given revision of the date,
+     * otherwise reads the current occupancy from the database and keeps it as the snapshot of the date.
+     * <p>
+     * Must be called while the date is locked for booking, so the revision cannot change concurrently.
+     * </p>
+     *
+     * @param date     The date of the snapshot.
+     * @param revision The current revision of the date, read from its locked row.
+     * @return The occupancy snapshot of the date at the given revision.
+     */
+    public DayOccupancy getDay(final LocalDate date, final long revision) {
+        final DayOccupancy day = days.get(date);
+        if (day != null && day.getRevision() == revision) {
+            return day;
+        }
+
+        final DayOccupancy loadedDay = loadDay(date).withRevision(revision);
+        days.put(date, loadedDay);
+        return loadedDay;
+    }
+
+    /**
+     * Loads the snapshots of all dates within the given range that are not loaded yet, using a fixed
+     * number of queries for the whole range instead of one set of queries per date.
+     * <p>
+     * If a booking commits while the range is being loaded, the snapshots added by this call may miss
+     * it, so they are dropped again and reloaded individually on next access.
+     * </p>
+     *
+     * @param from The first date of the range.
+     * @param to   The last date of the range (inclusive).
+     */
+    public void preloadDays(final LocalDate from, final LocalDate to) {
+        final List<LocalDate> missingDates = from.datesUntil(to.plusDays(1))
+                .filter(date -> !days.containsKey(date))
+                .toList();
+        if (missingDates.isEmpty()) {
+            return;
+        }
+
+        final long bookingEventsBefore = bookingEvents.get();
+
+        // Load the bookings of the whole range with one projection query per table, in a read-only transaction
+        final Map<LocalDate, DayOccupancy> rangeDays = readOnlyTransaction().execute(status -> {
+            final Map<DayOfWeek, List<WorkingHoursInterval>> workingHoursByDay = referenceData.getWorkingHours();
+            final List<Long> garageBoxIds = referenceData.getGarageBoxIds();
+            final Map<LocalDate, List<BookedInterval>> garageBoxBookingsByDate = garageAppointmentRepository
+                    .findGarageBoxIntervalsByDateBetween(from, to).stream()
+                    .collect(Collectors.groupingBy(BookedInterval::date));
+            final Map<LocalDate, List<BookedInterval>> mechanicBookingsByDate = garageAppointmentOperationRepository
+                    .findEmployeeIntervalsByDateBetween(from, to).stream()
+                    .collect(Collectors.groupingBy(BookedInterval::date));
+
+            final Map<LocalDate, DayOccupancy> occupancies = new HashMap<>();
+            for (final LocalDate date : missingDates) {
+                occupancies.put(date, DayOccupancy.of(date,
+                        workingHoursByDay.getOrDefault(date.getDayOfWeek(), List.of()),
+                        garageBoxIds,
+                        garageBoxBookingsByDate.getOrDefault(date, List.of()),
+                        mechanicBookingsByDate.getOrDefault(date, List.of())));
+            }
+            return occupancies;
+        });
+
+        final Map<LocalDate, DayOccupancy> loadedDays = new HashMap<>();
+        rangeDays.forEach((date, day) -> {
+            if (days.putIfAbsent(date, day) == null) {
+                loadedDays.put(date, day);
+            }
+        });
+
+        // A booking committed after the range was read would not be part of the added snapshots
+        if (bookingEvents.get() != bookingEventsBefore) {
+            loadedDays.forEach(days::remove);
+        }
+    }
+
+    /**
+     * Applies a committed booking to the snapshot of its date.
+     * <p>
+     * Snapshots that are not loaded yet are left alone, they will read the booking from the database.
+     * A snapshot loaded concurrently may already contain the booking, which is harmless because
+     * occupying the same minutes twice does not change the interval indexes.
+     * </p>
+     *
+     * @param event The event describing the committed booking.
+     */
+    @Order(BOOKING_LISTENER_ORDER)
+    @TransactionalEventListener
+    public void onAppointmentBooked(final AppointmentBookedEvent event) {
+        final GarageAppointment appointment = event.appointment();
+        bookingEvents.incrementAndGet();
+        days.computeIfPresent(appointment.getDate(), (date, day) -> day.withAppointment(appointment));
+    }
+
+    /**
+     * Marks the snapshot of a date as reflecting its new revision, once all appointments of the revision
+     * have been applied to it.
+     * <p>
+     * Only a snapshot at the previous revision is marked, any other snapshot may miss appointments and is
+     * reloaded by the next booking of the date.
+     * </p>
+     *
+     * @param event The event describing the new revision of the date.
+     */
+    @Order(BOOKING_LISTENER_ORDER)
+    @TransactionalEventListener
+    public void onBookingDayRevised(final BookingDayRevisedEvent event) {
+        days.computeIfPresent(event.date(), (date, day) -> day.getRevision() == event.revision() - 1
+                ? day.withRevision(event.revision())
+                : day);
+    }
+
+    /**
+     * Drops the snapshot of the given date so that it is reloaded from the database on next access.
+     *
+     * @param date The date of the snapshot.
+     */
+    public void evictDate(final LocalDate date) {
+        days.remove(date);
+    }
+
+    /**
+     * Drops all snapshots so that they are reloaded from the database on next access.
+     */
+    public void evictAll() {
+        days.clear();
+    }
+
+    /**
+     * Reads the current occupancy of the given date from the database, bypassing the loaded snapshots.
+     * <p>
+     * Used by bookings, which must see appointments committed by other instances as well. Only the booked
+     * intervals are read, as projections in a read-only transaction unless a transaction is already active;
+     * working hours and garage boxes come from the {@link ReferenceData}.
+     * </p>
+     *
+     * @param date The date of the snapshot.
+     * @return A new occupancy snapshot of the date.
+     */
+    public DayOccupancy loadDay(final LocalDate date) {
+        return readOnlyTransaction().execute(status -> DayOccupancy.of(date,
+                referenceData.getWorkingHours(date.getDayOfWeek()),
+                referenceData.getGarageBoxIds(),
+                garageAppointmentRepository.findGarageBoxIntervalsByDate(date),
+                garageAppointmentOperationRepository.findEmployeeIntervalsByDate(date)));
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        // Snapshots are only read, so the session skips dirty checking and flushing
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
+    }
+
+    private int earliestStartMinute(final LocalDate date) {
+        final LocalDate today = LocalDate.now();
+        if (date.isAfter(today)) {
+            return 0;
+        }
+
+        // Round up to the next full minute, a slot must not start even a few seconds too early
+        final LocalDateTime earliestStart = LocalDateTime.now()
+                .plusMinutes(reservationProperties.getMinAdvanceMinutes())
+                .plusSeconds(59)
+                .truncatedTo(ChronoUnit.MINUTES);
+        return earliestStart.toLocalDate().isAfter(today)
+                ? IntervalIndex.MINUTES_PER_DAY
+                : toMinuteOfDay(earliestStart.toLocalTime());
+    }
+
+    private boolean isAnyMechanicFree(final DayOccupancy day, final SlotTemplate[] templates,
+                                      final int start, final int end) {
+        final List<WorkingHoursInterval> workingHours = day.getWorkingHours();
+        for (int i = 0; i < templates.length; i++) {
+            if (templates[i].contains(start) && day.isMechanicFree(workingHours.get(i).employeeId(), start, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
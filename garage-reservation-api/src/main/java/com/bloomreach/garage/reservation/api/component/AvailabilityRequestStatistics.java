@@ -0,0 +1,60 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Counts how often the available slots of each combination of operations are requested.
+ * <p>
+ * Combinations are kept with their operation IDs sorted, like the {@link AvailableSlotsKey}. At most
+ * {@value #MAX_COMBINATIONS} distinct combinations are tracked, further ones are not counted, so the
+ * statistics cannot grow without limit.
+ * </p>
+ */
+@Component
+public class AvailabilityRequestStatistics {
+
+    static final int MAX_COMBINATIONS = 1000;
+
+    private final ConcurrentMap<List<Long>, LongAdder> requests = new ConcurrentHashMap<>();
+
+    /**
+     * Counts a request for the available slots of the given operations.
+     *
+     * @param operationIds The IDs of the requested operations, in any order.
+     */
+    public void record(final List<Long> operationIds) {
+        final List<Long> combination = operationIds.stream().sorted().toList();
+        LongAdder count = requests.get(combination);
+        if (count == null) {
+            if (requests.size() >= MAX_COMBINATIONS) {
+                return;
+            }
+            count = requests.computeIfAbsent(combination, key -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    /**
+     * Returns the number of requests per combination of operations counted so far.
+     *
+     * @return The request counts by sorted operation IDs.
+     */
+    public Map<List<Long>, Long> getRequestCounts() {
+        return requests.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+    }
+
+    /**
+     * Forgets all requests counted so far.
+     */
+    public void clear() {
+        requests.clear();
+    }
+}
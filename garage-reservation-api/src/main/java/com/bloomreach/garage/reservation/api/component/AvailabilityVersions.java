@@ -0,0 +1,90 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.event.AvailabilityChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a monotonically increasing availability version per date, exposed as an entity tag of the
+ * available slots of the date.
+ * <p>
+ * The version of a date is bumped after each committed booking of the date, once the occupancy snapshot
+ * and the cached slots have been refreshed, so stale slots served meanwhile keep their previous tag.
+ * Changes affecting any date, such as working hours, garage box, appointment or closure changes made
+ * through the REST repositories, bump a global epoch instead. The epoch starts at the startup time, so
+ * tags issued before a restart never match afterwards.
+ * </p>
+ * <p>
+ * The versions are kept per instance. Changes committed through other instances sharing the database are
+ * bumped by the {@link com.bloomreach.garage.reservation.api.service.AvailabilitySyncService} within one sync
+ * interval. Instances start with different epochs, so a tag issued by one instance never matches on another
+ * and a client switching instances receives the slots again instead of a wrong {@code 304 Not Modified}.
+ * </p>
+ * <p>
+ * Callers must read the tag before computing the slots: slots newer than their tag only cause an
+ * unnecessary refresh, while a tag newer than its slots would hide a change.
+ * </p>
+ * <p>
+ * Every bump publishes an {@link AvailabilityChangedEvent}, so components pushing availability to clients
+ * follow the same versions as the polling clients.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+public class AvailabilityVersions {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicLong epoch = new AtomicLong(System.currentTimeMillis());
+    private final ConcurrentMap<LocalDate, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the entity tag of the available slots of the given date.
+     * <p>
+     * On the current date, slots also expire with the minimum advance time, so the tag changes every minute.
+     * </p>
+     *
+     * @param date The date of the available slots.
+     * @return The quoted entity tag.
+     */
+    public String eTag(final LocalDate date) {
+        final AtomicLong version = versions.get(date);
+        final StringBuilder eTag = new StringBuilder("\"")
+                .append(epoch.get())
+                .append('-')
+                .append(version == null ? 0 : version.get());
+        if (date.isEqual(LocalDate.now())) {
+            eTag.append('-').append(LocalTime.now().toSecondOfDay() / 60);
+        }
+        return eTag.append('"').toString();
+    }
+
+    /**
+     * Bumps the version of the given date.
+     *
+     * @param date The date whose availability changed.
+     */
+    public void bump(final LocalDate date) {
+        // Drop the versions of past dates before adding a new one, their slots can no longer be requested
+        final LocalDate today = LocalDate.now();
+        versions.keySet().removeIf(versionDate -> versionDate.isBefore(today));
+
+        versions.computeIfAbsent(date, versionDate -> new AtomicLong()).incrementAndGet();
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(date));
+    }
+
+    /**
+     * Bumps the versions of all dates.
+     */
+    public void bumpAll() {
+        epoch.incrementAndGet();
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(null));
+    }
+}
@@ -0,0 +1,117 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Maintains the "availableSlots" cache used by the availability service.
+ * <p>
+ * A committed booking only affects the availability of its own date, so only the entries of that
+ * date are refreshed or evicted instead of flushing the whole cache, see
+ * {@link com.bloomreach.garage.reservation.api.service.AvailabilityRefreshService}.
+ * </p>
+ * <p>
+ * Hits, misses and size-based evictions are published by the cache metrics of Spring Boot, the entries
+ * evicted here are counted as {@code reservation.cache.evictions}.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+public class AvailableSlotsCache {
+
+    public static final String NAME = "availableSlots";
+
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Evicts the cached available slots of all operation combinations for the given date.
+     *
+     * @param date The date whose entries are to be evicted.
+     */
+    public void evictDate(final LocalDate date) {
+        final Cache cache = cacheManager.getCache(NAME);
+        if (cache == null) {
+            return;
+        }
+
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            int evicted = 0;
+            for (final Iterator<?> keys = nativeCache.asMap().keySet().iterator(); keys.hasNext(); ) {
+                if (keys.next() instanceof AvailableSlotsKey slotsKey && slotsKey.date().equals(date)) {
+                    keys.remove();
+                    evicted++;
+                }
+            }
+            countEvictions("date", evicted);
+        } else {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Returns the keys of the cached available slots of the given date.
+     *
+     * @param date The date whose keys are to be returned.
+     * @return The keys of the cached entries of the date.
+     */
+    public List<AvailableSlotsKey> findKeys(final LocalDate date) {
+        final Cache cache = cacheManager.getCache(NAME);
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+            return List.of();
+        }
+
+        return nativeCache.asMap().keySet().stream()
+                .filter(key -> key instanceof AvailableSlotsKey slotsKey && slotsKey.date().equals(date))
+                .map(AvailableSlotsKey.class::cast)
+                .toList();
+    }
+
+    /**
+     * Evicts the cached available slots of the given keys.
+     *
+     * @param keys The keys of the entries to be evicted.
+     */
+    public void evict(final Collection<AvailableSlotsKey> keys) {
+        final Cache cache = cacheManager.getCache(NAME);
+        if (cache == null || keys.isEmpty()) {
+            return;
+        }
+
+        keys.forEach(cache::evict);
+        countEvictions("date", keys.size());
+    }
+
+    /**
+     * Evicts the cached available slots of all dates.
+     */
+    public void evictAll() {
+        final Cache cache = cacheManager.getCache(NAME);
+        if (cache == null) {
+            return;
+        }
+
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            countEvictions("all", nativeCache.estimatedSize());
+        }
+        cache.clear();
+    }
+
+    private void countEvictions(final String scope, final double entries) {
+        Counter.builder("reservation.cache.evictions")
+                .description("Number of entries explicitly evicted from the available slots cache")
+                .tag("cache", NAME)
+                .tag("scope", scope)
+                .register(meterRegistry)
+                .increment(entries);
+    }
+}
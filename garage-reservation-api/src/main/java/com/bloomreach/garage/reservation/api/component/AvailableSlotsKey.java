@@ -0,0 +1,29 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Cache key of the available slots of a date for a set of operations.
+ * <p>
+ * The operation IDs are kept sorted, so requests listing the same operations in a different
+ * order share the same cache entry. The date is kept as a separate component to allow evicting
+ * all entries of a single date.
+ * </p>
+ *
+ * @param date         The date of the available slots.
+ * @param operationIds The sorted IDs of the requested operations.
+ */
+public record AvailableSlotsKey(LocalDate date, List<Long> operationIds) {
+
+    /**
+     * Creates the cache key for the given date and operation IDs.
+     *
+     * @param date         The date of the available slots.
+     * @param operationIds The IDs of the requested operations, in any order.
+     * @return The cache key.
+     */
+    public static AvailableSlotsKey of(final LocalDate date, final List<Long> operationIds) {
+        return new AvailableSlotsKey(date, operationIds.stream().sorted().toList());
+    }
+}
@@ -0,0 +1,60 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.entity.BookingDay;
+import com.bloomreach.garage.reservation.api.repository.BookingDayRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Serializes bookings per date using a row-level database lock.
+ * <p>
+ * Checking availability and saving an appointment is a check-then-act sequence. Holding the lock
+ * of the booked date while doing both guarantees that two concurrent bookings cannot both see the
+ * same garage box or mechanic as free, also across several application instances.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+public class BookingDayLock {
+
+    private final BookingDayRepository bookingDayRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Locks the given date until the current transaction completes, waiting for other bookings
+     * of the same date to finish first.
+     *
+     * @param date The date to lock.
+     * @return The locked row of the date, holding the current revision of its appointments.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public BookingDay lock(final LocalDate date) {
+        final Optional<BookingDay> bookingDay = bookingDayRepository.findByDayForUpdate(date);
+        if (bookingDay.isPresent()) {
+            return bookingDay.get();
+        }
+
+        // First booking of the date, create its lock row and lock it
+        createIfAbsent(date);
+        return bookingDayRepository.findByDayForUpdate(date)
+                .orElseThrow(() -> new IllegalStateException("Missing booking lock row for " + date));
+    }
+
+    private void createIfAbsent(final LocalDate date) {
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transactionTemplate.executeWithoutResult(status -> bookingDayRepository.saveAndFlush(new BookingDay(date, 0)));
+        } catch (final DataIntegrityViolationException e) {
+            // The lock row was created by a concurrent booking of the same date
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.error.ProcessingError;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-process striped locks serializing bookings of the same date.
+ * <p>
+ * Dates are mapped to stripes by their epoch day, so as long as the booking window is not longer than
+ * the number of stripes, bookings of different dates never share a lock. Waiting happens before a
+ * transaction is opened, so queued bookings do not hold database connections.
+ * </p>
+ * <p>
+ * The time spent waiting, the number of contended acquisitions and the number of timeouts are
+ * recorded per date as {@code reservation.booking.lock.*} metrics to reveal hot days. Bookings are
+ * validated against the booking window before they lock their date, and the meters of past dates are
+ * removed whenever a new date is locked, so at most the dates of the booking window are tagged.
+ * </p>
+ */
+@Slf4j
+@Component
+public class BookingLockManager {
+
+    private static final String DATE_TAG = "date";
+    private static final String WAIT_METER = "reservation.booking.lock.wait";
+    private static final String CONTENDED_METER = "reservation.booking.lock.contended";
+    private static final String TIMEOUTS_METER = "reservation.booking.lock.timeouts";
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+    private final MeterRegistry meterRegistry;
+    private final Set<LocalDate> meteredDates = ConcurrentHashMap.newKeySet();
+
+    public BookingLockManager(final ReservationProperties reservationProperties, final MeterRegistry meterRegistry) {
+        this.stripes = new ReentrantLock[Math.max(1, reservationProperties.getBookingLockStripes())];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+        this.timeoutMillis = reservationProperties.getBookingLockTimeoutMillis();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs the action while holding the lock of the given date.
+     *
+     * @param date   The date to lock.
+     * @param action The action to run.
+     * @param <T>    The result type of the action.
+     * @return The result of the action.
+     * @throws ProcessingError if the lock could not be acquired within the configured timeout.
+     */
+    public <T> T withLock(final LocalDate date, final Supplier<T> action) {
+        final ReentrantLock lock = stripes[Math.floorMod(date.toEpochDay(), stripes.length)];
+        acquire(lock, date);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the action while holding the locks of all given dates.
+     * <p>
+     * The locks are acquired in date order, so concurrent callers locking overlapping dates cannot deadlock.
+     * </p>
+     *
+     * @param dates  The dates to lock.
+     * @param action The action to run.
+     * @param <T>    The result type of the action.
+     * @return The result of the action.
+     * @throws ProcessingError if a lock could not be acquired within the configured timeout.
+     */
+    public <T> T withLocks(final Collection<LocalDate> dates, final Supplier<T> action) {
+        final List<LocalDate> sortedDates = dates.stream().distinct().sorted().toList();
+        final Deque<ReentrantLock> acquired = new ArrayDeque<>();
+        try {
+            for (final LocalDate date : sortedDates) {
+                final ReentrantLock lock = stripes[Math.floorMod(date.toEpochDay(), stripes.length)];
+                acquire(lock, date);
+                acquired.push(lock);
+            }
+            return action.get();
+        } finally {
+            acquired.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    private void acquire(final ReentrantLock lock, final LocalDate date) {
+        if (meteredDates.add(date)) {
+            removePastMeters();
+        }
+
+        // Fast path, the date is not being booked right now
+        if (lock.tryLock()) {
+            waitTimer(date).record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+
+        counter(CONTENDED_METER, date).increment();
+        final long waitStart = System.nanoTime();
+        final boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingError(ErrorMessage.BOOKING_LOCK_TIMEOUT);
+        } finally {
+            waitTimer(date).record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            counter(TIMEOUTS_METER, date).increment();
+            log.warn("Timed out after {} ms waiting for the booking lock of {}", timeoutMillis, date);
+            throw new ProcessingError(ErrorMessage.BOOKING_LOCK_TIMEOUT);
+        }
+    }
+
+    private Timer waitTimer(final LocalDate date) {
+        return Timer.builder(WAIT_METER)
+                .description("Time bookings spent waiting for the lock of their date")
+                .tag(DATE_TAG, date.toString())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Removes the meters of the dates before today, their bookings are no longer accepted.
+     */
+    private void removePastMeters() {
+        final LocalDate today = LocalDate.now();
+        meteredDates.removeIf(date -> date.isBefore(today));
+        Stream.of(WAIT_METER, CONTENDED_METER, TIMEOUTS_METER)
+                .flatMap(name -> meterRegistry.find(name).meters().stream())
+                .filter(meter -> LocalDate.parse(meter.getId().getTag(DATE_TAG)).isBefore(today))
+                .forEach(meterRegistry::remove);
+    }
+
+    private Counter counter(final String name, final LocalDate date) {
+        return Counter.builder(name)
+                .tag(DATE_TAG, date.toString())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,63 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.entity.GarageClosure;
+import com.bloomreach.garage.reservation.api.repository.GarageClosureRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory calendar of the dates on which the garage is closed.
+ * <p>
+ * All closures are loaded on first use and kept as an immutable set, so checking a date is a single
+ * hash lookup without touching the database. The set is reloaded whenever closures change, and every sync
+ * interval to pick up the closures changed through other instances.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+public class ClosureCalendar {
+
+    private final GarageClosureRepository garageClosureRepository;
+
+    private volatile Set<LocalDate> closedDates;
+
+    /**
+     * Checks whether the garage is closed on the given date.
+     *
+     * @param date The date to check.
+     * @return True if a closure exists for the date, false otherwise.
+     */
+    public boolean isClosed(final LocalDate date) {
+        Set<LocalDate> dates = closedDates;
+        if (dates == null) {
+            dates = load(false);
+        }
+        return dates.contains(date);
+    }
+
+    /**
+     * Reloads the closed dates from the database.
+     *
+     * @return True if the closed dates were loaded before and the reloaded ones differ from them, false otherwise.
+     */
+    public boolean refresh() {
+        final Set<LocalDate> previous = closedDates;
+        return previous != null && !previous.equals(load(true));
+    }
+
+    // Loads are serialized, so a load started after a change always wins over an older one
+    private synchronized Set<LocalDate> load(final boolean force) {
+        if (!force && closedDates != null) {
+            return closedDates;
+        }
+
+        closedDates = garageClosureRepository.findAll().stream()
+                .map(GarageClosure::getClosureDate)
+                .collect(Collectors.toUnmodifiableSet());
+        return closedDates;
+    }
+}
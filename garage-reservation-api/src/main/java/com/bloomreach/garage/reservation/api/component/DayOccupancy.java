@@ -0,0 +1,271 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointmentOperation;
+import com.bloomreach.garage.reservation.api.projection.BookedInterval;
+import com.bloomreach.garage.reservation.api.projection.WorkingHoursInterval;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.bloomreach.garage.reservation.api.component.IntervalIndex.toMinuteOfDay;
+
+/**
+ * Immutable snapshot of mechanic and garage box occupancy for a single date.
+ * <p>
+ * Holds one {@link IntervalIndex} per mechanic and one per garage box. Updates never modify
+ * an existing snapshot; {@link #withAppointment(GarageAppointment)} returns a copy instead, so
+ * readers can keep using the snapshot they obtained without any locking.
+ * </p>
+ * <p>
+ * A snapshot read while its date was locked for booking carries the revision of the date it reflects,
+ * see {@link com.bloomreach.garage.reservation.api.entity.BookingDay}. Other snapshots have an
+ * {@link #UNKNOWN_REVISION}.
+ * </p>
+ */
+public final class DayOccupancy {
+
+    public static final long UNKNOWN_REVISION = -1;
+
+    @Getter
+    private final LocalDate date;
+
+    @Getter
+    private final List<WorkingHoursInterval> workingHours;
+
+    @Getter
+    private final long revision;
+
+    private final Map<Long, IntervalIndex> mechanicOccupancy;
+    private final Map<Long, IntervalIndex> boxOccupancy;
+
+    private DayOccupancy(final LocalDate date, final List<WorkingHoursInterval> workingHours, final long revision,
+                         final Map<Long, IntervalIndex> mechanicOccupancy,
+                         final Map<Long, IntervalIndex> boxOccupancy) {
+        this.date = date;
+        this.workingHours = workingHours;
+        this.revision = revision;
+        this.mechanicOccupancy = mechanicOccupancy;
+        this.boxOccupancy = boxOccupancy;
+    }
+
+    /**
+     * Builds the occupancy snapshot of a date from its persisted state.
+     *
+     * @param date              The date of the snapshot.
+     * @param workingHours      The working hours of all mechanics on the day of week of the date.
+     * @param garageBoxIds      The IDs of all garage boxes that can be allocated.
+     * @param garageBoxBookings The time ranges booked on the date, with the garage box ID as resource ID.
+     * @param mechanicBookings  The time ranges booked on the date, with the employee ID as resource ID.
+     * @return The occupancy snapshot for the date.
+     */
+    public static DayOccupancy of(final LocalDate date, final List<WorkingHoursInterval> workingHours,
+                                  final Collection<Long> garageBoxIds,
+                                  final Collection<BookedInterval> garageBoxBookings,
+                                  final Collection<BookedInterval> mechanicBookings) {
+        final Map<Long, IntervalIndex.Builder> mechanicOccupancy = new HashMap<>();
+        workingHours.forEach(hours -> mechanicOccupancy.putIfAbsent(hours.employeeId(), IntervalIndex.builder()));
+        mechanicBookings.forEach(booking -> add(mechanicOccupancy, booking));
+
+        final Map<Long, IntervalIndex.Builder> boxOccupancy = new HashMap<>();
+        garageBoxIds.forEach(id -> boxOccupancy.put(id, IntervalIndex.builder()));
+        garageBoxBookings.forEach(booking -> add(boxOccupancy, booking));
+
+        return new DayOccupancy(date, List.copyOf(workingHours), UNKNOWN_REVISION,
+                build(mechanicOccupancy), build(boxOccupancy));
+    }
+
+    /**
+     * Returns a copy of this snapshot marked as reflecting the given revision of its date.
+     *
+     * @param newRevision The revision of the date.
+     * @return The snapshot with the given revision.
+     */
+    public DayOccupancy withRevision(final long newRevision) {
+        return new DayOccupancy(date, workingHours, newRevision, mechanicOccupancy, boxOccupancy);
+    }
+
+    /**
+     * Returns a copy of this snapshot with the given appointment and its operations marked as occupied.
+     * <p>
+     * Applying the same appointment more than once yields the same occupancy. The revision is kept, the
+     * caller bumps it once all appointments of the new revision have been applied.
+     * </p>
+     *
+     * @param appointment The appointment booked on the date of this snapshot.
+     * @return The updated occupancy snapshot.
+     */
+    public DayOccupancy withAppointment(final GarageAppointment appointment) {
+        final Map<Long, IntervalIndex> updatedMechanics = new HashMap<>(mechanicOccupancy);
+        if (appointment.getOperations() != null) {
+            for (final GarageAppointmentOperation operation : appointment.getOperations()) {
+                updatedMechanics.compute(operation.getEmployee().getId(), (id, current) ->
+                        (current == null ? IntervalIndex.EMPTY : current)
+                                .with(toMinuteOfDay(operation.getStartTime()), toMinuteOfDay(operation.getEndTime())));
+            }
+        }
+
+        final Map<Long, IntervalIndex> updatedBoxes = new HashMap<>(boxOccupancy);
+        updatedBoxes.compute(appointment.getGarageBox().getId(), (id, current) ->
+                (current == null ? IntervalIndex.EMPTY : current)
+                        .with(toMinuteOfDay(appointment.getStartTime()), toMinuteOfDay(appointment.getEndTime())));
+
+        return new DayOccupancy(date, workingHours, revision, updatedMechanics, updatedBoxes);
+    }
+
+    /**
+     * Checks whether the mechanic has no booked operation within the given minute range.
+     *
+     * @param employeeId The ID of the mechanic.
+     * @param from       The first minute of the day of the range.
+     * @param to         The minute of the day at which the range ends (exclusive).
+     * @return True if the mechanic is free for the whole range, false otherwise.
+     */
+    public boolean isMechanicFree(final Long employeeId, final int from, final int to) {
+        final IntervalIndex occupancy = mechanicOccupancy.get(employeeId);
+        return occupancy == null || occupancy.isFree(from, to);
+    }
+
+    /**
+     * Checks whether the mechanic works during the whole given minute range and has no booked operation within it.
+     *
+     * @param employeeId The ID of the mechanic.
+     * @param from       The first minute of the day of the range.
+     * @param to         The minute of the day at which the range ends (exclusive).
+     * @return True if the mechanic can take the whole range, false otherwise.
+     */
+    public boolean isMechanicAvailable(final Long employeeId, final int from, final int to) {
+        return findWorkingHours(employeeId, from, to) != null && isMechanicFree(employeeId, from, to);
+    }
+
+    /**
+     * Finds the mechanics whose working hours contain the given minute range and who have no booked operation within it.
+     * <p>
+     * Mechanics are returned in the order of their working hours, as the booking flow considers them.
+     * </p>
+     *
+     * @param from The first minute of the day of the range.
+     * @param to   The minute of the day at which the range ends (exclusive).
+     * @return The IDs of the free mechanics, empty if no mechanic is free.
+     */
+    public List<Long> findFreeMechanics(final int from, final int to) {
+        final List<Long> freeMechanics = new ArrayList<>();
+        for (final WorkingHoursInterval hours : workingHours) {
+            final Long employeeId = hours.employeeId();
+            if (toMinuteOfDay(hours.startTime()) <= from && toMinuteOfDay(hours.endTime()) >= to
+                    && isMechanicFree(employeeId, from, to) && !freeMechanics.contains(employeeId)) {
+                freeMechanics.add(employeeId);
+            }
+        }
+        return freeMechanics;
+    }
+
+    /**
+     * Returns the number of minutes booked for the mechanic on the date.
+     *
+     * @param employeeId The ID of the mechanic.
+     * @return The booked minutes of the mechanic.
+     */
+    public int bookedMinutes(final Long employeeId) {
+        final IntervalIndex occupancy = mechanicOccupancy.get(employeeId);
+        return occupancy == null ? 0 : occupancy.occupiedMinutes(0, IntervalIndex.MINUTES_PER_DAY);
+    }
+
+    /**
+     * Returns the length of the free time of the mechanic containing the given minute range, bounded by the
+     * working hours of the mechanic.
+     *
+     * @param employeeId The ID of the mechanic.
+     * @param from       The first minute of the day of the range.
+     * @param to         The minute of the day at which the range ends (exclusive).
+     * @return The length of the free time around the range in minutes, or 0 if the mechanic cannot take the range.
+     */
+    public int freeTimeAround(final Long employeeId, final int from, final int to) {
+        final WorkingHoursInterval hours = findWorkingHours(employeeId, from, to);
+        if (hours == null || !isMechanicFree(employeeId, from, to)) {
+            return 0;
+        }
+
+        final IntervalIndex occupancy = mechanicOccupancy.getOrDefault(employeeId, IntervalIndex.EMPTY);
+        final int freeFrom = Math.max(toMinuteOfDay(hours.startTime()), occupancy.previousEnd(from));
+        final int freeTo = Math.min(toMinuteOfDay(hours.endTime()), occupancy.nextStart(to));
+        return freeTo - freeFrom;
+    }
+
+    /**
+     * Finds the garage box whose free time around the given minute range is the shortest.
+     * <p>
+     * Filling the tightest gap first keeps the long free ranges of the other garage boxes intact for
+     * later, longer appointments. Ties go to the garage box with the lowest ID.
+     * </p>
+     *
+     * @param from The first minute of the day of the range.
+     * @param to   The minute of the day at which the range ends (exclusive).
+     * @return The ID of the best fitting free garage box, or empty if no garage box is free.
+     */
+    public Optional<Long> findBestFitBox(final int from, final int to) {
+        Long bestBoxId = null;
+        int bestGap = Integer.MAX_VALUE;
+        for (final Map.Entry<Long, IntervalIndex> box : boxOccupancy.entrySet()) {
+            final IntervalIndex occupancy = box.getValue();
+            if (!occupancy.isFree(from, to)) {
+                continue;
+            }
+
+            final int gap = occupancy.nextStart(to) - occupancy.previousEnd(from);
+            if (gap < bestGap || gap == bestGap && box.getKey() < bestBoxId) {
+                bestBoxId = box.getKey();
+                bestGap = gap;
+            }
+        }
+        return Optional.ofNullable(bestBoxId);
+    }
+
+    /**
+     * Finds the earliest minute at or after the given one at which a garage box is free for the given duration.
+     *
+     * @param from     The minute of the day at which the range may start at the earliest.
+     * @param duration The length of the range, in minutes.
+     * @return The first minute of the earliest range during which a garage box is free, or -1 if there is none.
+     */
+    public int nextFreeBoxStart(final int from, final int duration) {
+        int earliest = -1;
+        for (final IntervalIndex occupancy : boxOccupancy.values()) {
+            final int start = occupancy.nextFreeGap(from, duration);
+            if (start == from) {
+                return start;
+            }
+            if (start >= 0 && (earliest < 0 || start < earliest)) {
+                earliest = start;
+            }
+        }
+        return earliest;
+    }
+
+    private WorkingHoursInterval findWorkingHours(final Long employeeId, final int from, final int to) {
+        for (final WorkingHoursInterval hours : workingHours) {
+            if (hours.employeeId().equals(employeeId)
+                    && toMinuteOfDay(hours.startTime()) <= from && toMinuteOfDay(hours.endTime()) >= to) {
+                return hours;
+            }
+        }
+        return null;
+    }
+
+    private static void add(final Map<Long, IntervalIndex.Builder> occupancy, final BookedInterval booking) {
+        occupancy.computeIfAbsent(booking.resourceId(), id -> IntervalIndex.builder())
+                .add(toMinuteOfDay(booking.startTime()), toMinuteOfDay(booking.endTime()));
+    }
+
+    private static Map<Long, IntervalIndex> build(final Map<Long, IntervalIndex.Builder> builders) {
+        final Map<Long, IntervalIndex> indexes = new HashMap<>();
+        builders.forEach((id, builder) -> indexes.put(id, builder.build()));
+        return indexes;
+    }
+}
@@ -3,39 +3,38 @@ package com.bloomreach.garage.reservation.api.component;
 import com.bloomreach.garage.reservation.api.entity.GarageBox;
 import com.bloomreach.garage.reservation.api.error.ErrorMessage;
 import com.bloomreach.garage.reservation.api.error.ProcessingError;
-import com.bloomreach.garage.reservation.api.repository.GarageBoxRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
 import java.time.LocalTime;
 
+import static com.bloomreach.garage.reservation.api.component.IntervalIndex.toMinuteOfDay;
+
 /**
  * Allocates an available garage box for an appointment.
+ * <p>
+ * The garage box is chosen from the occupancy snapshot of the date, preferring the box whose free time
+ * around the appointment is the shortest, so the boxes are filled without fragmenting their free time.
+ * </p>
  */
 @RequiredArgsConstructor
 @Component
 public class GarageBoxAllocator {
 
-    private final GarageBoxRepository garageBoxRepository;
+    private final ReferenceData referenceData;
 
     /**
-     * Fetches an available garage box for the specified date and time slot.
+     * Fetches the best fitting available garage box for the specified time slot.
      *
-     * @param date      The date of the appointment.
+     * @param day       The current occupancy of the date of the appointment.
      * @param startTime The start time of the appointment.
      * @param endTime   The end time of the appointment.
      * @return The allocated garage box.
      * @throws ProcessingError if no garage boxes are available.
      */
-    public GarageBox allocateGarageBox(final LocalDate date, final LocalTime startTime, final LocalTime endTime) {
-        final Page<GarageBox> page = garageBoxRepository.findAvailableBox(
-                date, startTime, endTime, PageRequest.of(0, 1));
-
-        return page.getContent().stream()
-                .findFirst()
+    public GarageBox allocateGarageBox(final DayOccupancy day, final LocalTime startTime, final LocalTime endTime) {
+        return day.findBestFitBox(toMinuteOfDay(startTime), toMinuteOfDay(endTime))
+                .flatMap(referenceData::findGarageBox)
                 .orElseThrow(() -> new ProcessingError(ErrorMessage.NO_AVAILABLE_GARAGE_BOXES));
     }
 }
@@ -0,0 +1,259 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * Immutable index of the occupied time ranges of a single resource (mechanic or garage box) for one day.
+ * <p>
+ * Occupied ranges are stored as minute of the day offsets, sorted and merged into disjoint intervals,
+ * so checking a range is a binary search. The lengths of the free gaps between the intervals are kept
+ * in a max segment tree, which finds the next gap long enough for a given duration in logarithmic time.
+ * </p>
+ */
+public final class IntervalIndex {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    public static final IntervalIndex EMPTY = new IntervalIndex(new int[0], new int[0]);
+
+    private final int[] starts;
+    private final int[] ends;
+    private final int leaves;
+    private final int[] maxGaps;
+
+    private IntervalIndex(final int[] starts, final int[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+
+        // Leaf i holds the length of the free gap following interval i, padding leaves never match
+        this.leaves = Integer.highestOneBit(Math.max(1, starts.length) * 2 - 1);
+        this.maxGaps = new int[leaves * 2];
+        Arrays.fill(maxGaps, leaves, maxGaps.length, -1);
+        for (int i = 0; i < starts.length; i++) {
+            maxGaps[leaves + i] = gapAfter(i);
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            maxGaps[node] = Math.max(maxGaps[2 * node], maxGaps[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Converts a time of day to its minute offset from midnight.
+     *
+     * @param time The time to convert.
+     * @return The minute of the day, between 0 and 1439.
+     */
+    public static int toMinuteOfDay(final LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * Converts a minute offset from midnight to a time of day.
+     *
+     * @param minuteOfDay The minute of the day, between 0 and 1439.
+     * @return The time of day.
+     */
+    public static LocalTime toLocalTime(final int minuteOfDay) {
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a copy of this index with the half-open minute range {@code [from, to)} marked as occupied.
+     * <p>
+     * Occupying an already occupied range yields an equal index.
+     * </p>
+     *
+     * @param from The first occupied minute of the day.
+     * @param to   The minute of the day at which the occupation ends (exclusive).
+     * @return The updated index.
+     */
+    public IntervalIndex with(final int from, final int to) {
+        final Builder builder = new Builder();
+        for (int i = 0; i < starts.length; i++) {
+            builder.add(starts[i], ends[i]);
+        }
+        return builder.add(from, to).build();
+    }
+
+    /**
+     * Checks whether no minute of the half-open range {@code [from, to)} is occupied.
+     *
+     * @param from The first minute of the day to check.
+     * @param to   The minute of the day at which the range ends (exclusive).
+     * @return True if the whole range is free, false otherwise.
+     */
+    public boolean isFree(final int from, final int to) {
+        if (from >= to) {
+            return true;
+        }
+
+        // Only the last interval starting before the end of the range can overlap it
+        final int last = firstStartAtOrAfter(to) - 1;
+        return last < 0 || ends[last] <= from;
+    }
+
+    /**
+     * Finds the earliest free range of the given length that starts at or after the given minute.
+     *
+     * @param from     The minute of the day at which the free range may start at the earliest.
+     * @param duration The length of the free range, in minutes.
+     * @return The first minute of the free range, or -1 if the day has no such range.
+     */
+    public int nextFreeGap(final int from, final int duration) {
+        // The interval containing the given minute, or the first one after it
+        final int next = firstEndAfter(from);
+        if (next == starts.length) {
+            return from + duration <= MINUTES_PER_DAY ? from : -1;
+        }
+        if (starts[next] - from >= duration) {
+            return from;
+        }
+
+        final int gap = firstGapAtLeast(1, 0, leaves, next, duration);
+        return gap < 0 ? -1 : ends[gap];
+    }
+
+    /**
+     * Returns the end of the last occupied interval ending at or before the given minute.
+     *
+     * @param minute The minute of the day to look back from.
+     * @return The end of the previous interval, or 0 if no interval ends at or before the minute.
+     */
+    public int previousEnd(final int minute) {
+        final int previous = firstEndAfter(minute) - 1;
+        return previous < 0 ? 0 : ends[previous];
+    }
+
+    /**
+     * Returns the start of the first occupied interval starting at or after the given minute.
+     *
+     * @param minute The minute of the day to look ahead from.
+     * @return The start of the next interval, or {@link #MINUTES_PER_DAY} if no interval starts at or after the minute.
+     */
+    public int nextStart(final int minute) {
+        final int next = firstStartAtOrAfter(minute);
+        return next == starts.length ? MINUTES_PER_DAY : starts[next];
+    }
+
+    /**
+     * Returns the number of occupied minutes within the half-open range {@code [from, to)}.
+     *
+     * @param from The first minute of the day to count.
+     * @param to   The minute of the day at which the range ends (exclusive).
+     * @return The number of occupied minutes of the range.
+     */
+    public int occupiedMinutes(final int from, final int to) {
+        int occupied = 0;
+        for (int i = firstEndAfter(from); i < starts.length && starts[i] < to; i++) {
+            occupied += Math.min(ends[i], to) - Math.max(starts[i], from);
+        }
+        return occupied;
+    }
+
+    private int gapAfter(final int index) {
+        final int nextStart = index + 1 < starts.length ? starts[index + 1] : MINUTES_PER_DAY;
+        return nextStart - ends[index];
+    }
+
+    private int firstStartAtOrAfter(final int minute) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (starts[middle] < minute) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int firstEndAfter(final int minute) {
+        int low = 0;
+        int high = ends.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (ends[middle] <= minute) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int firstGapAtLeast(final int node, final int nodeFrom, final int nodeTo, final int from, final int length) {
+        if (nodeTo <= from || maxGaps[node] < length) {
+            return -1;
+        }
+        if (nodeTo - nodeFrom == 1) {
+            return nodeFrom;
+        }
+
+        final int middle = (nodeFrom + nodeTo) >>> 1;
+        final int left = firstGapAtLeast(2 * node, nodeFrom, middle, from, length);
+        return left >= 0 ? left : firstGapAtLeast(2 * node + 1, middle, nodeTo, from, length);
+    }
+
+    /**
+     * Collects occupied ranges in any order and builds the index from them.
+     */
+    public static final class Builder {
+
+        // Ranges packed as (from << 32 | to), so sorting them orders by start time
+        private long[] ranges = new long[8];
+        private int size;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds the half-open minute range {@code [from, to)} as occupied, empty ranges are ignored.
+         *
+         * @param from The first occupied minute of the day.
+         * @param to   The minute of the day at which the occupation ends (exclusive).
+         * @return This builder.
+         */
+        public Builder add(final int from, final int to) {
+            if (from >= to) {
+                return this;
+            }
+            if (size == ranges.length) {
+                ranges = Arrays.copyOf(ranges, size * 2);
+            }
+            ranges[size++] = (long) from << 32 | to;
+            return this;
+        }
+
+        public IntervalIndex build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+
+            Arrays.sort(ranges, 0, size);
+
+            // Merge overlapping and touching ranges into disjoint intervals
+            final int[] starts = new int[size];
+            final int[] ends = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                final int from = (int) (ranges[i] >>> 32);
+                final int to = (int) ranges[i];
+                if (count > 0 && from <= ends[count - 1]) {
+                    ends[count - 1] = Math.max(ends[count - 1], to);
+                } else {
+                    starts[count] = from;
+                    ends[count] = to;
+                    count++;
+                }
+            }
+            return new IntervalIndex(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.entity.GarageOperation;
+import com.bloomreach.garage.reservation.api.projection.WorkingHoursInterval;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Strategies assigning the operations of an appointment to mechanics.
+ * <p>
+ * Every strategy works on the {@link DayOccupancy} of the date, so a mechanic is only assigned an operation
+ * that lies within their working hours and does not overlap any operation already booked for them.
+ * Operations start at the start of the appointment and are performed one after the other, unless
+ * {@link #SPLIT} runs them in parallel.
+ * </p>
+ */
+public enum MechanicAssignmentStrategy {
+
+    /**
+     * Assigns all operations to the first free mechanic, in the order of the working hours.
+     * <p>
+     * Saturates the first mechanics while the others stay idle.
+     * </p>
+     */
+    FIRST_AVAILABLE {
+        @Override
+        Long selectMechanic(final DayOccupancy day, final List<Long> freeMechanics, final int from, final int to) {
+            return freeMechanics.get(0);
+        }
+    },
+
+    /**
+     * Assigns all operations to the free mechanic with the fewest booked minutes on the date.
+     */
+    LEAST_LOADED {
+        @Override
+        Long selectMechanic(final DayOccupancy day, final List<Long> freeMechanics, final int from, final int to) {
+            return freeMechanics.stream()
+                    .min(Comparator.comparingInt(day::bookedMinutes))
+                    .orElseThrow();
+        }
+    },
+
+    /**
+     * Assigns all operations to the free mechanic with the shortest free time around the appointment.
+     * <p>
+     * Filling the tightest gap first keeps the long free ranges of the other mechanics intact for
+     * later, longer appointments. Ties go to the least loaded mechanic.
+     * </p>
+     */
+    BEST_FIT {
+        @Override
+        Long selectMechanic(final DayOccupancy day, final List<Long> freeMechanics, final int from, final int to) {
+            return freeMechanics.stream()
+                    .min(Comparator.<Long>comparingInt(employeeId -> day.freeTimeAround(employeeId, from, to))
+                            .thenComparingInt(day::bookedMinutes))
+                    .orElseThrow();
+        }
+    },
+
+    /**
+     * Splits the operations across mechanics working in parallel when that ends the appointment earlier
+     * than a single mechanic would, or when no single mechanic is free for all operations. Otherwise
+     * assigns them like {@link #BEST_FIT}.
+     */
+    SPLIT {
+        @Override
+        Long selectMechanic(final DayOccupancy day, final List<Long> freeMechanics, final int from, final int to) {
+            return BEST_FIT.selectMechanic(day, freeMechanics, from, to);
+        }
+
+        @Override
+        public Optional<List<OperationAssignment>> assign(final DayOccupancy day, final int from,
+                                                          final List<GarageOperation> operations) {
+            final Optional<List<OperationAssignment>> single = super.assign(day, from, operations);
+            if (operations.size() < 2) {
+                return single;
+            }
+
+            final Optional<List<OperationAssignment>> split = splitAcrossMechanics(day, from, operations);
+            return split.isPresent() && (single.isEmpty() || end(split.get()) < end(single.get())) ? split : single;
+        }
+    };
+
+    /**
+     * Assigns the operations of an appointment starting at the given minute to mechanics.
+     *
+     * @param day        The occupancy of the date of the appointment.
+     * @param from       The minute of the day at which the appointment starts.
+     * @param operations The operations of the appointment, in the order they are requested.
+     * @return The assignment of every operation, in the order of the operations, or empty if they cannot be assigned.
+     */
+    public Optional<List<OperationAssignment>> assign(final DayOccupancy day, final int from,
+                                                      final List<GarageOperation> operations) {
+        final int to = from + SlotCalculator.totalDuration(operations);
+        final List<Long> freeMechanics = day.findFreeMechanics(from, to);
+        if (freeMechanics.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final Long employeeId = selectMechanic(day, freeMechanics, from, to);
+        final List<OperationAssignment> assignments = new ArrayList<>();
+        int start = from;
+        for (final GarageOperation operation : operations) {
+            final int end = start + operation.getDurationInMinutes();
+            assignments.add(new OperationAssignment(operation, employeeId, start, end));
+            start = end;
+        }
+        return Optional.of(assignments);
+    }
+
+    /**
+     * Selects the mechanic performing all operations of an appointment.
+     *
+     * @param day           The occupancy of the date of the appointment.
+     * @param freeMechanics The mechanics free for the whole appointment, in the order of their working hours.
+     * @param from          The minute of the day at which the appointment starts.
+     * @param to            The minute of the day at which the last operation ends (exclusive).
+     * @return The ID of the selected mechanic.
+     */
+    abstract Long selectMechanic(DayOccupancy day, List<Long> freeMechanics, int from, int to);
+
+    /**
+     * Returns the minute of the day at which the last of the assigned operations ends.
+     *
+     * @param assignments The assigned operations.
+     * @return The end of the assignments.
+     */
+    public static int end(final List<OperationAssignment> assignments) {
+        return assignments.stream()
+                .mapToInt(OperationAssignment::to)
+                .max()
+                .orElse(0);
+    }
+
+    /**
+     * Schedules the longest operations first, each on the mechanic able to start it the earliest.
+     * <p>
+     * A mechanic takes their operations one after the other from the start of the appointment, and only if
+     * each of them is within their working hours and free.
+     * </p>
+     */
+    private static Optional<List<OperationAssignment>> splitAcrossMechanics(final DayOccupancy day, final int from,
+                                                                            final List<GarageOperation> operations) {
+        // The minute at which each mechanic working at the start of the appointment can take the next operation
+        final Map<Long, Integer> readyAt = new LinkedHashMap<>();
+        for (final WorkingHoursInterval hours : day.getWorkingHours()) {
+            readyAt.putIfAbsent(hours.employeeId(), from);
+        }
+
+        final OperationAssignment[] assignments = new OperationAssignment[operations.size()];
+        final List<Integer> longestFirst = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            longestFirst.add(i);
+        }
+        longestFirst.sort(Comparator.comparingInt((Integer i) -> operations.get(i).getDurationInMinutes()).reversed());
+
+        for (final int index : longestFirst) {
+            final GarageOperation operation = operations.get(index);
+            final int duration = operation.getDurationInMinutes();
+
+            Long selected = null;
+            for (final Map.Entry<Long, Integer> mechanic : readyAt.entrySet()) {
+                final int start = mechanic.getValue();
+                if ((selected == null || start < readyAt.get(selected))
+                        && day.isMechanicAvailable(mechanic.getKey(), start, start + duration)) {
+                    selected = mechanic.getKey();
+                }
+            }
+            if (selected == null) {
+                return Optional.empty();
+            }
+
+            final int start = readyAt.get(selected);
+            assignments[index] = new OperationAssignment(operation, selected, start, start + duration);
+            readyAt.put(selected, start + duration);
+        }
+        return Optional.of(List.of(assignments));
+    }
+}
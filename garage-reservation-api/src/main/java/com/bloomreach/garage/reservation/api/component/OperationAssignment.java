@@ -0,0 +1,14 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.entity.GarageOperation;
+
+/**
+ * Assignment of an operation of an appointment to a mechanic and a time range.
+ *
+ * @param operation  The assigned operation.
+ * @param employeeId The ID of the mechanic performing the operation.
+ * @param from       The minute of the day at which the operation starts.
+ * @param to         The minute of the day at which the operation ends (exclusive).
+ */
+public record OperationAssignment(GarageOperation operation, Long employeeId, int from, int to) {
+}
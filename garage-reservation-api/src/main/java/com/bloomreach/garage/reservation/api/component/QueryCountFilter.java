@@ -0,0 +1,79 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the database queries of every HTTP request, tagged with the method and the URI pattern of the request.
+ * <p>
+ * The number of queries is recorded as the {@code reservation.request.queries} distribution and the time
+ * spent executing them as the {@code reservation.request.db.time} timer. Every request is logged at debug
+ * level, and requests executing more than {@code max-queries-per-request} queries are logged as warnings,
+ * so that N+1 query patterns show up in the logs.
+ * </p>
+ * <p>
+ * Queries are counted by the {@link QueryCountListener} on the request thread, so queries run by
+ * the availability executor on behalf of a request are not included.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final ReservationProperties reservationProperties;
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        QueryCountListener.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            record(request, QueryCountListener.stop());
+        }
+    }
+
+    private void record(final HttpServletRequest request, final QueryCountListener.Statistics statistics) {
+        final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        final String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        final Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("reservation.request.queries")
+                .description("Number of database queries executed by an HTTP request")
+                .baseUnit("queries")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.queries());
+        Timer.builder("reservation.request.db.time")
+                .description("Time an HTTP request spent executing database queries")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.nanos(), TimeUnit.NANOSECONDS);
+
+        final int maxQueries = reservationProperties.getMaxQueriesPerRequest();
+        if (maxQueries > 0 && statistics.queries() > maxQueries) {
+            log.warn("{} {} executed {} queries in {} ms, more than the expected maximum of {}", request.getMethod(),
+                    uri, statistics.queries(), TimeUnit.NANOSECONDS.toMillis(statistics.nanos()), maxQueries);
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {} executed {} queries in {} ms", request.getMethod(), uri, statistics.queries(),
+                    TimeUnit.NANOSECONDS.toMillis(statistics.nanos()));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate session listener counting and timing the database round trips of the current thread.
+ * <p>
+ * Hibernate creates one listener per session, registered through the {@code hibernate.session.events.auto}
+ * property. Every executed statement and every executed JDBC batch is added to the statistics started on the
+ * calling thread by {@link #start()}; statements executed while no statistics are started are ignored.
+ * </p>
+ */
+public class QueryCountListener implements SessionEventListener {
+
+    private static final ThreadLocal<Tracker> TRACKER = new ThreadLocal<>();
+
+    /**
+     * Number and total execution time of the queries of a thread.
+     *
+     * @param queries The number of executed statements and JDBC batches.
+     * @param nanos   The total time spent executing them, in nanoseconds.
+     */
+    public record Statistics(int queries, long nanos) {
+
+        private static final Statistics NONE = new Statistics(0, 0);
+    }
+
+    /**
+     * Starts counting the queries executed by the current thread.
+     */
+    public static void start() {
+        TRACKER.set(new Tracker());
+    }
+
+    /**
+     * Stops counting the queries executed by the current thread.
+     *
+     * @return The statistics of the queries executed since {@link #start()}, zero if counting was not started.
+     */
+    public static Statistics stop() {
+        final Tracker tracker = TRACKER.get();
+        TRACKER.remove();
+        return tracker == null ? Statistics.NONE : new Statistics(tracker.queries, tracker.nanos);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStarted();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executionEnded();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStarted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executionEnded();
+    }
+
+    private static void executionStarted() {
+        final Tracker tracker = TRACKER.get();
+        if (tracker != null) {
+            tracker.executionStart = System.nanoTime();
+        }
+    }
+
+    private static void executionEnded() {
+        final Tracker tracker = TRACKER.get();
+        if (tracker != null) {
+            tracker.queries++;
+            tracker.nanos += System.nanoTime() - tracker.executionStart;
+        }
+    }
+
+    private static final class Tracker {
+
+        private int queries;
+        private long nanos;
+        private long executionStart;
+    }
+}
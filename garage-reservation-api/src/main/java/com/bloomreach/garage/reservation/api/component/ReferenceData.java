@@ -0,0 +1,166 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.entity.GarageBox;
+import com.bloomreach.garage.reservation.api.entity.GarageOperation;
+import com.bloomreach.garage.reservation.api.projection.WorkingHoursInterval;
+import com.bloomreach.garage.reservation.api.repository.EmployeeWorkingHoursRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageBoxRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageOperationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory snapshot of the garage operations, the working hours of the employees and the garage boxes.
+ * <p>
+ * They change rarely, so all of them are loaded on first use and kept as an immutable snapshot, which
+ * availability searches and bookings read without touching the database. The snapshot is reloaded
+ * whenever one of them changes through the REST repositories, and every sync interval to pick up the changes
+ * made through other instances. The entities it holds are shared and
+ * must not be modified.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+public class ReferenceData {
+
+    private final GarageOperationRepository garageOperationRepository;
+    private final EmployeeWorkingHoursRepository employeeWorkingHoursRepository;
+    private final GarageBoxRepository garageBoxRepository;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Finds the operations with the given IDs.
+     * <p>
+     * Like {@code findAllById}, unknown IDs are skipped and a repeated ID is returned once, so callers
+     * detect both by comparing the number of operations with the number of IDs.
+     * </p>
+     *
+     * @param operationIds The IDs of the operations.
+     * @return The operations found, ordered by ID.
+     */
+    public List<GarageOperation> findOperations(final Collection<Long> operationIds) {
+        final Map<Long, GarageOperation> operations = getSnapshot().operations();
+        return operationIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .map(operations::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Returns the IDs of all operations.
+     *
+     * @return The IDs of all operations, in ascending order.
+     */
+    public List<Long> getOperationIds() {
+        return getSnapshot().operations().keySet().stream().sorted().toList();
+    }
+
+    /**
+     * Returns the working hours of all employees on the given day of the week.
+     *
+     * @param dayOfWeek The day of the week.
+     * @return The working hours of the day, ordered by ID.
+     */
+    public List<WorkingHoursInterval> getWorkingHours(final DayOfWeek dayOfWeek) {
+        return getSnapshot().workingHours().getOrDefault(dayOfWeek, List.of());
+    }
+
+    /**
+     * Returns the working hours of all employees by day of the week.
+     *
+     * @return The working hours of every day of the week that has any, each ordered by ID.
+     */
+    public Map<DayOfWeek, List<WorkingHoursInterval>> getWorkingHours() {
+        return getSnapshot().workingHours();
+    }
+
+    /**
+     * Returns the IDs of all garage boxes.
+     *
+     * @return The IDs of all garage boxes, in ascending order.
+     */
+    public List<Long> getGarageBoxIds() {
+        return getSnapshot().garageBoxIds();
+    }
+
+    /**
+     * Finds the garage box with the given ID.
+     *
+     * @param id The ID of the garage box.
+     * @return The garage box, or empty if it does not exist.
+     */
+    public Optional<GarageBox> findGarageBox(final Long id) {
+        return Optional.ofNullable(getSnapshot().garageBoxes().get(id));
+    }
+
+    /**
+     * Returns all garage boxes by ID.
+     *
+     * @return The garage boxes by ID.
+     */
+    public Map<Long, GarageBox> getGarageBoxes() {
+        return getSnapshot().garageBoxes();
+    }
+
+    /**
+     * Reloads the snapshot from the database.
+     *
+     * @return True if a snapshot was loaded before and the reloaded one differs from it, false otherwise.
+     */
+    public boolean refresh() {
+        final Snapshot previous = snapshot;
+        return previous != null && !previous.equals(load(true));
+    }
+
+    private Snapshot getSnapshot() {
+        final Snapshot current = snapshot;
+        return current != null ? current : load(false);
+    }
+
+    // Loads are serialized, so a load started after a change always wins over an older one
+    private synchronized Snapshot load(final boolean force) {
+        if (!force && snapshot != null) {
+            return snapshot;
+        }
+
+        final Map<Long, GarageBox> garageBoxes = garageBoxRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(GarageBox::getId, Function.identity()));
+        snapshot = new Snapshot(
+                garageOperationRepository.findAll().stream()
+                        .collect(Collectors.toUnmodifiableMap(GarageOperation::getId, Function.identity())),
+                employeeWorkingHoursRepository.findAllIntervals().stream()
+                        .collect(Collectors.collectingAndThen(
+                                Collectors.groupingBy(WorkingHoursInterval::dayOfWeek, Collectors.toUnmodifiableList()),
+                                Map::copyOf)),
+                garageBoxes.keySet().stream().sorted().toList(),
+                garageBoxes);
+        return snapshot;
+    }
+
+    /**
+     * The reference data loaded at one point in time.
+     *
+     * @param operations   The garage operations by ID.
+     * @param workingHours The working hours of the employees by day of the week, each ordered by ID.
+     * @param garageBoxIds The IDs of the garage boxes in ascending order.
+     * @param garageBoxes  The garage boxes by ID.
+     */
+    private record Snapshot(Map<Long, GarageOperation> operations,
+                            Map<DayOfWeek, List<WorkingHoursInterval>> workingHours,
+                            List<Long> garageBoxIds,
+                            Map<Long, GarageBox> garageBoxes) {
+    }
+}
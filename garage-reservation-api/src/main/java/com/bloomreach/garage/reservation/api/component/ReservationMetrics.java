@@ -0,0 +1,117 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.error.ProcessingError;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Records the timings of the internal stages of the reservation flows and the failed bookings.
+ * <p>
+ * Stages are recorded as the {@code reservation.stage} timer, tagged with the flow and the stage. Failed
+ * bookings are counted as {@code reservation.booking.failures}, tagged with the flow and the name of the
+ * {@link ErrorMessage} the error was created from, so formatted messages do not create a time series per
+ * date or limit. Computations shared by concurrent requests are counted as
+ * {@code reservation.single.flight}, tagged with the flow and the {@link SingleFlight.Outcome}.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+public class ReservationMetrics {
+
+    public static final String FLOW_AVAILABILITY = "availability";
+    public static final String FLOW_BOOKING = "booking";
+    public static final String FLOW_BATCH_BOOKING = "batch_booking";
+
+    public static final String STAGE_VALIDATE = "validate";
+    public static final String STAGE_LOAD = "load";
+    public static final String STAGE_SEARCH = "search";
+    public static final String STAGE_AVAILABILITY = "availability";
+    public static final String STAGE_BOX_ALLOCATION = "box_allocation";
+    public static final String STAGE_MECHANIC_LOOKUP = "mechanic_lookup";
+    public static final String STAGE_ALLOCATION = "allocation";
+    public static final String STAGE_PERSIST = "persist";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Runs the action and records its duration as a stage of the given flow.
+     *
+     * @param flow   The flow the stage belongs to.
+     * @param stage  The name of the stage.
+     * @param action The action to run.
+     * @param <T>    The result type of the action.
+     * @return The result of the action.
+     */
+    public <T> T time(final String flow, final String stage, final Supplier<T> action) {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return action.get();
+        } finally {
+            sample.stop(Timer.builder("reservation.stage")
+                    .description("Time spent in a stage of a reservation flow")
+                    .tag("flow", flow)
+                    .tag("stage", stage)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Runs the action and records its duration as a stage of the given flow.
+     *
+     * @param flow   The flow the stage belongs to.
+     * @param stage  The name of the stage.
+     * @param action The action to run.
+     */
+    public void time(final String flow, final String stage, final Runnable action) {
+        time(flow, stage, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Counts a booking that failed with the given exception.
+     *
+     * @param flow      The flow in which the booking failed.
+     * @param exception The exception the booking failed with.
+     */
+    public void countFailure(final String flow, final RuntimeException exception) {
+        final String reason;
+        if (exception instanceof ValidationError validationError) {
+            reason = validationError.getReason().name();
+        } else if (exception instanceof ProcessingError processingError) {
+            reason = processingError.getReason().name();
+        } else {
+            reason = exception.getClass().getSimpleName();
+        }
+
+        Counter.builder("reservation.booking.failures")
+                .description("Number of bookings that failed, by reason")
+                .tag("flow", flow)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Counts how a request obtained a value computed through a {@link SingleFlight}.
+     *
+     * @param flow    The flow of the request.
+     * @param outcome How the request obtained the value.
+     */
+    public void countSingleFlight(final String flow, final SingleFlight.Outcome outcome) {
+        Counter.builder("reservation.single.flight")
+                .description("Number of requests computing or sharing a computation, by outcome")
+                .tag("flow", flow)
+                .tag("outcome", outcome.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+    }
+}
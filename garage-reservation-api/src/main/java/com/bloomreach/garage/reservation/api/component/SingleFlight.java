@@ -0,0 +1,110 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent computations of the same key.
+ * <p>
+ * The first caller of a key computes the value on its own thread, callers arriving while it is in flight
+ * wait for it and share its value or exception. A waiting caller gives up after the timeout and computes
+ * the value itself, so a stuck computation delays the others by at most the timeout. Nothing is kept once
+ * a computation has completed, caching the values is left to the caller.
+ * </p>
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the computed values.
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * How a caller obtained its value.
+     */
+    public enum Outcome {
+
+        /**
+         * The caller computed the value for itself and any callers waiting for it.
+         */
+        COMPUTED,
+
+        /**
+         * The caller shared the value computed by another caller.
+         */
+        SHARED,
+
+        /**
+         * The caller stopped waiting for another caller and computed the value itself.
+         */
+        TIMED_OUT
+    }
+
+    private final ConcurrentMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final Consumer<Outcome> outcomeListener;
+
+    /**
+     * Creates a single flight reporting how every caller obtained its value.
+     *
+     * @param outcomeListener Called with the outcome of every call.
+     */
+    public SingleFlight(final Consumer<Outcome> outcomeListener) {
+        this.outcomeListener = outcomeListener;
+    }
+
+    /**
+     * Returns the value of the key, computed by this caller or by a concurrent caller of the same key.
+     *
+     * @param key           The key of the value.
+     * @param timeoutMillis The maximum time, in milliseconds, to wait for a concurrent caller.
+     * @param computation   Computes the value.
+     * @return The value of the key.
+     */
+    public V execute(final K key, final long timeoutMillis, final Supplier<V> computation) {
+        final CompletableFuture<V> flight = new CompletableFuture<>();
+        final CompletableFuture<V> existing = flights.putIfAbsent(key, flight);
+        if (existing == null) {
+            return compute(key, flight, computation);
+        }
+
+        try {
+            final V value = existing.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            outcomeListener.accept(Outcome.SHARED);
+            return value;
+        } catch (final ExecutionException e) {
+            // Propagate the failure of the shared computation as if it had been computed here
+            outcomeListener.accept(Outcome.SHARED);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Shared computation of " + key + " failed", e.getCause());
+        } catch (final TimeoutException e) {
+            outcomeListener.accept(Outcome.TIMED_OUT);
+            return computation.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the computation of " + key, e);
+        }
+    }
+
+    private V compute(final K key, final CompletableFuture<V> flight, final Supplier<V> computation) {
+        try {
+            final V value = computation.get();
+            flight.complete(value);
+            outcomeListener.accept(Outcome.COMPUTED);
+            return value;
+        } catch (final RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+}
@@ -1,74 +1,80 @@
 package com.bloomreach.garage.reservation.api.component;
 
-import com.bloomreach.garage.reservation.api.entity.EmployeeWorkingHours;
 import com.bloomreach.garage.reservation.api.entity.GarageOperation;
-import com.bloomreach.garage.reservation.api.model.AvailableSlot;
 import com.bloomreach.garage.reservation.config.ReservationProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
  * Calculates available time slots for mechanics based on their working hours
  * and the durations of the garage operations to be performed.
+ * <p>
+ * Working hours and slots are represented as minute of the day offsets, slots start every
+ * {@code default-slot-duration} minutes from the beginning of the working hours. The candidate slots of
+ * each working hours window and duration are cached as {@link SlotTemplate}s. At most {@value #MAX_TEMPLATES}
+ * templates are kept, the rarely used ones are evicted first, so unusual durations cannot grow the cache without
+ * limit. Converting slots to {@link com.bloomreach.garage.reservation.api.model.AvailableSlot} is left to the
+ * caller.
+ * </p>
  */
 @RequiredArgsConstructor
 @Component
 public class SlotCalculator {
 
+    static final int MAX_TEMPLATES = 1000;
+
     private final ReservationProperties reservationProperties;
+    private final Cache<TemplateKey, SlotTemplate> templates = Caffeine.newBuilder()
+            .maximumSize(MAX_TEMPLATES)
+            .build();
 
     /**
-     * Calculates available time slots for a given mechanic's working hours and a list of operations.
+     * Sums up the durations of the operations, which are performed one after another.
      *
-     * @param workingHours The working hours of the mechanic.
-     * @param operations   The list of operations to accommodate within the time slots.
-     * @return A list of available time slots for the mechanic.
+     * @param operations The operations to accommodate within a time slot.
+     * @return The duration of a time slot for the operations, in minutes.
      */
-    public List<AvailableSlot> calculateSlots(final EmployeeWorkingHours workingHours, final List<GarageOperation> operations) {
-        final List<AvailableSlot> availableSlots = new ArrayList<>();
-        LocalTime start = workingHours.getStartTime();
-        final LocalTime end = workingHours.getEndTime();
-
-        // Minimum slot duration
-        final int minDuration = reservationProperties.getDefaultSlotDuration();
-
-        // Calculate minimum advance time
-        final LocalTime nowPlusMinAdvance = LocalTime.now().plusMinutes(reservationProperties.getMinAdvanceMinutes());
-
-        // Convert start time and nowPlusMinAdvance to LocalDateTime for proper comparison
-        LocalDateTime startDateTime = LocalDateTime.of(LocalDateTime.now().toLocalDate(), start);
-        final LocalDateTime nowPlusMinAdvanceDateTime = LocalDateTime.of(LocalDateTime.now().toLocalDate(), nowPlusMinAdvance);
-
-        // If start time is before nowPlusMinAdvance, check if it's on the next day
-        if (startDateTime.isBefore(nowPlusMinAdvanceDateTime)) {
-            startDateTime = startDateTime.plusDays(1);  // Adjust for the next day if needed
+    public static int totalDuration(final List<GarageOperation> operations) {
+        int duration = 0;
+        for (final GarageOperation operation : operations) {
+            duration += operation.getDurationInMinutes();
         }
+        return duration;
+    }
 
-        // Calculate possible time slots
-        while (start.plusMinutes(minDuration).isBefore(end)) {
-            boolean canAccommodateAll = true;
-            LocalTime slotEnd = start;
-
-            for (final GarageOperation operation : operations) {
-                slotEnd = slotEnd.plusMinutes(operation.getDurationInMinutes());
-                if (slotEnd.isAfter(end)) {
-                    canAccommodateAll = false;
-                    break;
-                }
-            }
+    /**
+     * Returns the candidate slots of a mechanic's working hours that can accommodate the given duration.
+     * <p>
+     * Templates are computed once per working hours window and duration and then served from memory,
+     * as most mechanics share a few shift patterns and requests a few operation combinations.
+     * </p>
+     *
+     * @param workStart The minute of the day at which the working hours start.
+     * @param workEnd   The minute of the day at which the working hours end.
+     * @param duration  The duration of the slots, in minutes.
+     * @return The template of the slot start minutes.
+     */
+    public SlotTemplate template(final int workStart, final int workEnd, final int duration) {
+        return templates.get(new TemplateKey(workStart, workEnd, duration), this::calculateTemplate);
+    }
 
-            if (canAccommodateAll && !startDateTime.isBefore(nowPlusMinAdvanceDateTime)) {
-                availableSlots.add(new AvailableSlot(start, slotEnd));
-            }
+    private SlotTemplate calculateTemplate(final TemplateKey key) {
+        final int step = reservationProperties.getDefaultSlotDuration();
 
-            start = start.plusMinutes(minDuration);
+        // A slot must start at least one step before the end of the working hours and end within them
+        final int lastStart = Math.min(key.workEnd() - step - 1, key.workEnd() - key.duration());
+        final BitSet starts = new BitSet(IntervalIndex.MINUTES_PER_DAY);
+        for (int start = key.workStart(); start <= lastStart; start += step) {
+            starts.set(start);
         }
+        return new SlotTemplate(starts);
+    }
 
-        return availableSlots;
+    private record TemplateKey(int workStart, int workEnd, int duration) {
     }
 }
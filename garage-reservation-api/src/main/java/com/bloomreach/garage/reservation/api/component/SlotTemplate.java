@@ -0,0 +1,41 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import java.util.BitSet;
+
+/**
+ * Immutable set of the candidate slot start minutes of a working hours window for a slot duration.
+ * <p>
+ * Templates do not depend on the date or on bookings, so they are shared by all mechanics with the same
+ * working hours and by all requests with the same total duration. Bookings and the minimum advance
+ * cutoff are applied by the caller.
+ * </p>
+ *
+ * @see SlotCalculator#template(int, int, int)
+ */
+public final class SlotTemplate {
+
+    private final BitSet starts;
+
+    SlotTemplate(final BitSet starts) {
+        this.starts = starts;
+    }
+
+    /**
+     * Adds the start minutes of this template to the given set.
+     *
+     * @param slotStarts The set of start minutes the slots are added to.
+     */
+    public void addTo(final BitSet slotStarts) {
+        slotStarts.or(starts);
+    }
+
+    /**
+     * Checks whether a slot of this template starts at the given minute.
+     *
+     * @param start The minute of the day.
+     * @return True if a slot starts at the given minute, false otherwise.
+     */
+    public boolean contains(final int start) {
+        return starts.get(start);
+    }
+}
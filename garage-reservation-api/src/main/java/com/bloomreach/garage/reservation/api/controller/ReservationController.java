@@ -3,9 +3,14 @@ package com.bloomreach.garage.reservation.api.controller;
 import com.bloomreach.garage.reservation.api.error.ProcessingError;
 import com.bloomreach.garage.reservation.api.error.ValidationError;
 import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import com.bloomreach.garage.reservation.api.model.AvailableSlotsDelta;
+import com.bloomreach.garage.reservation.api.model.BatchBookingRequest;
+import com.bloomreach.garage.reservation.api.model.BatchBookingResponse;
 import com.bloomreach.garage.reservation.api.model.BookingRequest;
 import com.bloomreach.garage.reservation.api.model.BookingResponse;
+import com.bloomreach.garage.reservation.api.model.DailyAvailableSlots;
 import com.bloomreach.garage.reservation.api.service.AvailabilityService;
+import com.bloomreach.garage.reservation.api.service.AvailabilityStreamService;
 import com.bloomreach.garage.reservation.api.service.BookingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,12 +20,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -36,30 +44,116 @@ import java.util.List;
 public class ReservationController {
 
     private final AvailabilityService availabilityService;
+    private final AvailabilityStreamService availabilityStreamService;
     private final BookingService bookingService;
 
     /**
      * Retrieves available time slots for the specified date and operation IDs.
+     * <p>
+     * The response carries an ETag of the availability of the date. Requests with a matching
+     * {@code If-None-Match} header are answered with {@code 304 Not Modified} without computing the slots.
+     * </p>
      *
      * @param date         The date to check for available slots.
      * @param operationIds The list of operation IDs to check availability.
-     * @return A Set of available time slots.
+     * @param request      The current request, used for the conditional GET.
+     * @return A Set of available time slots, or null if the client's copy is up to date.
      */
     @GetMapping("/availableSlots")
     @Operation(summary = "Find available time slots", description = "Retrieves available time slots for the given date and operation IDs.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved available time slots",
                     content = @Content(schema = @Schema(implementation = AvailableSlot.class))),
+            @ApiResponse(responseCode = "304", description = "Available time slots not modified since the given ETag"),
             @ApiResponse(responseCode = "400", description = "Validation error",
                     content = @Content(schema = @Schema(implementation = ValidationError.class))),
             @ApiResponse(responseCode = "400", description = "Processing error",
                     content = @Content(schema = @Schema(implementation = ProcessingError.class)))
     })
     public List<AvailableSlot> findAvailableSlots(@RequestParam final LocalDate date,
-                                                  @RequestParam final List<Long> operationIds) {
+                                                  @RequestParam final List<Long> operationIds,
+                                                  final WebRequest request) {
+        // Read the tag before computing the slots, so that it is never newer than the slots
+        if (request.checkNotModified(availabilityService.findAvailableSlotsETag(date, operationIds))) {
+            return null;
+        }
         return availabilityService.findAvailableSlots(date, operationIds);
     }
 
+    /**
+     * Streams the available time slots for the specified date and operation IDs as Server-Sent Events.
+     * <p>
+     * The stream starts with a {@code slots} event holding all available slots, followed by a {@code delta}
+     * event with the added and removed slots whenever the availability of the date changes.
+     * </p>
+     *
+     * @param date         The date to check for available slots.
+     * @param operationIds The list of operation IDs to check availability.
+     * @return The emitter of the stream.
+     */
+    @GetMapping(path = "/availableSlots/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream available time slots",
+            description = "Streams the available time slots for the given date and operation IDs, followed by their changes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream of the available time slots and their changes",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = AvailableSlotsDelta.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = ValidationError.class)))
+    })
+    public SseEmitter streamAvailableSlots(@RequestParam final LocalDate date,
+                                           @RequestParam final List<Long> operationIds) {
+        return availabilityStreamService.subscribe(date, operationIds);
+    }
+
+    /**
+     * Retrieves available time slots for every date of the specified range and operation IDs.
+     *
+     * @param from         The first date of the range.
+     * @param to           The last date of the range (inclusive).
+     * @param operationIds The list of operation IDs to check availability.
+     * @return A list of available time slots per date, ordered by date.
+     */
+    @GetMapping("/availableSlots/range")
+    @Operation(summary = "Find available time slots for a date range",
+            description = "Retrieves available time slots for every date of the given range and operation IDs in one request.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved available time slots",
+                    content = @Content(schema = @Schema(implementation = DailyAvailableSlots.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = ValidationError.class))),
+            @ApiResponse(responseCode = "400", description = "Processing error",
+                    content = @Content(schema = @Schema(implementation = ProcessingError.class)))
+    })
+    public List<DailyAvailableSlots> findAvailableSlotsInRange(@RequestParam final LocalDate from,
+                                                               @RequestParam final LocalDate to,
+                                                               @RequestParam final List<Long> operationIds) {
+        return availabilityService.findAvailableSlots(from, to, operationIds);
+    }
+
+    /**
+     * Retrieves the earliest available time slots for the specified operation IDs within the booking window.
+     *
+     * @param operationIds The list of operation IDs to check availability.
+     * @param limit        The maximum number of slots to return.
+     * @return A list of the earliest available time slots per date, ordered by date.
+     */
+    @GetMapping("/availableSlots/earliest")
+    @Operation(summary = "Find the earliest available time slots",
+            description = "Retrieves the first available time slots for the given operation IDs, starting today.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved available time slots",
+                    content = @Content(schema = @Schema(implementation = DailyAvailableSlots.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = ValidationError.class))),
+            @ApiResponse(responseCode = "400", description = "Processing error",
+                    content = @Content(schema = @Schema(implementation = ProcessingError.class)))
+    })
+    public List<DailyAvailableSlots> findEarliestSlots(@RequestParam final List<Long> operationIds,
+                                                       @RequestParam(defaultValue = "1") final int limit) {
+        return availabilityService.findEarliestSlots(operationIds, limit);
+    }
+
     /**
      * Books appointments based on the provided booking request.
      *
@@ -79,4 +173,23 @@ public class ReservationController {
     public BookingResponse bookAppointments(@RequestBody final BookingRequest bookingRequest) {
         return bookingService.bookAppointment(bookingRequest);
     }
+
+    /**
+     * Books many appointments at once based on the provided batch booking request.
+     *
+     * @param batchBookingRequest The batch booking request containing the bookings and the mode of the batch.
+     * @return The result of every booking of the batch, in the order of the request.
+     */
+    @PostMapping("/book/batch")
+    @Operation(summary = "Book appointments in batch",
+            description = "Books many appointments in a single transaction, all or nothing or as many as possible.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully processed the batch",
+                    content = @Content(schema = @Schema(implementation = BatchBookingResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = ValidationError.class)))
+    })
+    public BatchBookingResponse bookAppointmentsInBatch(@RequestBody final BatchBookingRequest batchBookingRequest) {
+        return bookingService.bookAppointments(batchBookingRequest);
+    }
 }
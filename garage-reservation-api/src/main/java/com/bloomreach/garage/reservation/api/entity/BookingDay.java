@@ -0,0 +1,37 @@
+package com.bloomreach.garage.reservation.api.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Lock row of a bookable date.
+ * <p>
+ * Bookings lock the row of their date for the duration of their transaction, so bookings on the same
+ * date are serialized while bookings on different dates never wait for each other.
+ * </p>
+ * <p>
+ * The revision is incremented by every booking of the date and by every change made through the REST
+ * repositories, so an instance holding an occupancy snapshot of the same revision knows it is current.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "booking_days")
+public class BookingDay {
+
+    @Id
+    @Column(name = "booking_date", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "revision", nullable = false)
+    private long revision;
+}
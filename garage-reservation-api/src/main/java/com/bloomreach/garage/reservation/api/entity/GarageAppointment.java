@@ -10,6 +10,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -31,7 +32,8 @@ import java.util.List;
 public class GarageAppointment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "garage_appointments_seq")
+    @SequenceGenerator(name = "garage_appointments_seq", sequenceName = "garage_appointments_seq", allocationSize = 50)
     @Schema(description = "Unique identifier of the appointment", example = "1")
     private Long id;
 
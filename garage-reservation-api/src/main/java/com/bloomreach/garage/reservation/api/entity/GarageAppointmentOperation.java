@@ -8,6 +8,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -27,7 +28,8 @@ import java.time.LocalTime;
 public class GarageAppointmentOperation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "garage_appointment_operations_seq")
+    @SequenceGenerator(name = "garage_appointment_operations_seq", sequenceName = "garage_appointment_operations_seq", allocationSize = 50)
     @Schema(description = "Unique identifier of the garage appointment operation", example = "1")
     private Long id;
 
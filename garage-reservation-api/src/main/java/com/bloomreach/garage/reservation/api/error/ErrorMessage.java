@@ -1,20 +1,51 @@
 package com.bloomreach.garage.reservation.api.error;
 
-public final class ErrorMessage {
+/**
+ * The error messages of the API.
+ * <p>
+ * Every {@link ValidationError} and {@link ProcessingError} carries the message it was created from, so the
+ * failure can be identified by its name independently of the wording and the arguments of the message.
+ * </p>
+ */
+public enum ErrorMessage {
 
-    public static final String OPERATION_ID_IS_REQUIRED = "Operation ID is required";
-    public static final String OPERATION_NOT_FOUND = "One or more operations not found";
-    public static final String DATE_CANNOT_BE_IN_THE_PAST = "Date cannot be in the past";
-    public static final String DATE_CANNOT_BE_MORE_THAN = "Date cannot be more than %s days in advance";
-    public static final String INVALID_CUSTOMER_ID = "Invalid customer ID";
-    public static final String NO_AVAILABLE_GARAGE_BOXES = "No available garage boxes";
-    public static final String NO_AVAILABLE_MECHANICS_FOR_THIS_TIME_SLOT = "No available mechanics for this time slot";
-    public static final String NO_AVAILABLE_MECHANICS_FOR_THIS_OPERATION = "No available mechanics for this operation";
-    public static final String BOOKING_CANNOT_BE_MADE_MORE_THAN = "Booking cannot be made more than %s days in advance.";
-    public static final String BOOKING_MUST_BE_MADE_AT_LEAST = "Booking must be made at least %s minutes in advance.";
-    public static final String BOOKING_CANNOT_BE_MADE_FOR_A_PAST_DATE = "Booking cannot be made for a past date.";
+    OPERATION_ID_IS_REQUIRED("Operation ID is required"),
+    OPERATION_NOT_FOUND("One or more operations not found"),
+    DATE_CANNOT_BE_IN_THE_PAST("Date cannot be in the past"),
+    DATE_CANNOT_BE_MORE_THAN("Date cannot be more than %s days in advance"),
+    LIMIT_MUST_BE_POSITIVE("Limit must be a positive number"),
+    FROM_DATE_CANNOT_BE_AFTER_TO_DATE("From date cannot be after to date"),
+    INVALID_CUSTOMER_ID("Invalid customer ID"),
+    BOOKING_IS_REQUIRED("Booking is required"),
+    CUSTOMER_ID_IS_REQUIRED("Customer ID is required"),
+    DATE_IS_REQUIRED("Date is required"),
+    START_TIME_IS_REQUIRED("Start time is required"),
+    END_TIME_IS_REQUIRED("End time is required"),
+    NO_AVAILABLE_GARAGE_BOXES("No available garage boxes"),
+    NO_AVAILABLE_MECHANICS_FOR_THIS_TIME_SLOT("No available mechanics for this time slot"),
+    NO_AVAILABLE_MECHANICS_FOR_THIS_OPERATION("No available mechanics for this operation"),
+    BOOKING_CANNOT_BE_MADE_MORE_THAN("Booking cannot be made more than %s days in advance."),
+    BOOKING_MUST_BE_MADE_AT_LEAST("Booking must be made at least %s minutes in advance."),
+    BOOKING_CANNOT_BE_MADE_FOR_A_PAST_DATE("Booking cannot be made for a past date."),
+    GARAGE_IS_CLOSED_ON("Garage is closed on %s."),
+    BATCH_MUST_CONTAIN_BOOKINGS("Batch must contain at least one booking."),
+    BATCH_CANNOT_CONTAIN_MORE_THAN("Batch cannot contain more than %s bookings."),
+    BATCH_NOT_BOOKED("Not booked because another booking of the batch was rejected."),
+    BOOKING_LOCK_TIMEOUT("Too many concurrent bookings for this date, please try again.");
 
-    private ErrorMessage() {
-        // empty constructor
+    private final String template;
+
+    ErrorMessage(final String template) {
+        this.template = template;
+    }
+
+    /**
+     * Formats the message with the given arguments.
+     *
+     * @param arguments The arguments referenced by the format specifiers of the message.
+     * @return The formatted message.
+     */
+    public String format(final Object... arguments) {
+        return String.format(template, arguments);
     }
 }
@@ -1,5 +1,6 @@
 package com.bloomreach.garage.reservation.api.error;
 
+import lombok.Getter;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
@@ -17,19 +18,27 @@ import org.springframework.web.bind.annotation.ResponseStatus;
  *
  * @see org.springframework.http.HttpStatus#BAD_REQUEST
  */
+@Getter
 @ResponseStatus(HttpStatus.BAD_REQUEST)
 public class ProcessingError extends RuntimeException {
 
     /**
-     * Constructs a new {@code ValidationError} with the specified detail message.
+     * The error message the exception was created from.
+     */
+    private final ErrorMessage reason;
+
+    /**
+     * Constructs a new {@code ProcessingError} with the specified error message.
      * <p>
-     * The detail message provides additional information about the validation error,
-     * which can be useful for debugging or informing the user about the nature of the error.
+     * The detail message is formatted from the error message and its arguments, which can be useful for
+     * debugging or informing the user about the nature of the error.
      * </p>
      *
-     * @param message the detail message.
+     * @param reason    the error message.
+     * @param arguments the arguments of the error message.
      */
-    public ProcessingError(final String message) {
-        super(message);
+    public ProcessingError(final ErrorMessage reason, final Object... arguments) {
+        super(reason.format(arguments));
+        this.reason = reason;
     }
 }
@@ -0,0 +1,15 @@
+package com.bloomreach.garage.reservation.api.event;
+
+import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+
+/**
+ * Published by the booking flow once a {@link GarageAppointment} has been saved.
+ * <p>
+ * Listeners are expected to consume it after the surrounding transaction commits, so they
+ * only ever observe appointments that are actually persisted.
+ * </p>
+ *
+ * @param appointment The booked appointment, including its operations.
+ */
+public record AppointmentBookedEvent(GarageAppointment appointment) {
+}
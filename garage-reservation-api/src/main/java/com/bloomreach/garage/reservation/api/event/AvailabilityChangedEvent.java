@@ -0,0 +1,25 @@
+package com.bloomreach.garage.reservation.api.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published whenever the availability version of a date, or of all dates, is bumped.
+ * <p>
+ * By then the occupancy snapshots and the cached slots already reflect the change, so listeners
+ * recomputing the available slots observe the new availability.
+ * </p>
+ *
+ * @param date The date whose availability changed, or {@code null} if the availability of all dates changed.
+ */
+public record AvailabilityChangedEvent(LocalDate date) {
+
+    /**
+     * Checks whether the availability of the given date changed.
+     *
+     * @param otherDate The date to check.
+     * @return True if the event concerns the given date or all dates.
+     */
+    public boolean affects(final LocalDate otherDate) {
+        return date == null || date.equals(otherDate);
+    }
+}
@@ -0,0 +1,17 @@
+package com.bloomreach.garage.reservation.api.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published by the booking flow after the {@link AppointmentBookedEvent}s of a date, once the revision
+ * of the date has been incremented.
+ * <p>
+ * Listeners are expected to consume it after the surrounding transaction commits, once all appointments
+ * booked for the date within the transaction have been applied.
+ * </p>
+ *
+ * @param date     The date whose appointments changed.
+ * @param revision The new revision of the date.
+ */
+public record BookingDayRevisedEvent(LocalDate date, long revision) {
+}
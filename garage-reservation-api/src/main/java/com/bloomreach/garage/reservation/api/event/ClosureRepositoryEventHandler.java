@@ -0,0 +1,38 @@
+package com.bloomreach.garage.reservation.api.event;
+
+import com.bloomreach.garage.reservation.api.component.AvailabilityVersions;
+import com.bloomreach.garage.reservation.api.component.AvailableSlotsCache;
+import com.bloomreach.garage.reservation.api.component.ClosureCalendar;
+import com.bloomreach.garage.reservation.api.entity.GarageClosure;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.rest.core.annotation.HandleAfterCreate;
+import org.springframework.data.rest.core.annotation.HandleAfterDelete;
+import org.springframework.data.rest.core.annotation.HandleAfterSave;
+import org.springframework.data.rest.core.annotation.RepositoryEventHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link ClosureCalendar} consistent with closures changed through the REST repositories.
+ * <p>
+ * Cached slots may belong to a date that has just been closed or reopened, so they are dropped as well
+ * and the availability versions of all dates are bumped.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+@RepositoryEventHandler
+public class ClosureRepositoryEventHandler {
+
+    private final ClosureCalendar closureCalendar;
+    private final AvailableSlotsCache availableSlotsCache;
+    private final AvailabilityVersions availabilityVersions;
+
+    @HandleAfterCreate
+    @HandleAfterSave
+    @HandleAfterDelete
+    public void onClosureChange(final GarageClosure closure) {
+        closureCalendar.refresh();
+        availableSlotsCache.evictAll();
+        availabilityVersions.bumpAll();
+    }
+}
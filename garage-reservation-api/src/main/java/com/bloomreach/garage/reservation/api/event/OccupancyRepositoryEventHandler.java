@@ -0,0 +1,86 @@
+package com.bloomreach.garage.reservation.api.event;
+
+import com.bloomreach.garage.reservation.api.component.AvailabilityEngine;
+import com.bloomreach.garage.reservation.api.component.AvailabilityVersions;
+import com.bloomreach.garage.reservation.api.component.AvailableSlotsCache;
+import com.bloomreach.garage.reservation.api.component.ReferenceData;
+import com.bloomreach.garage.reservation.api.entity.EmployeeWorkingHours;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointmentOperation;
+import com.bloomreach.garage.reservation.api.entity.GarageBox;
+import com.bloomreach.garage.reservation.api.entity.GarageOperation;
+import com.bloomreach.garage.reservation.api.repository.BookingDayRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.rest.core.annotation.HandleAfterCreate;
+import org.springframework.data.rest.core.annotation.HandleAfterDelete;
+import org.springframework.data.rest.core.annotation.HandleAfterSave;
+import org.springframework.data.rest.core.annotation.RepositoryEventHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link ReferenceData}, the {@link AvailabilityEngine}, the {@link AvailableSlotsCache} and the
+ * {@link AvailabilityVersions} consistent with changes made through the REST repositories.
+ * <p>
+ * Such changes bypass the booking flow and are rare, so all occupancy snapshots and cached slots are
+ * simply dropped and rebuilt from the database on next access, and the versions of all dates are bumped.
+ * The revisions of all booking days are incremented as well, so other instances reload their snapshots
+ * on the next booking. Changes of operations, working hours and garage boxes reload the reference data first,
+ * so the rebuilt snapshots and slots already use it.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+@RepositoryEventHandler
+public class OccupancyRepositoryEventHandler {
+
+    private final ReferenceData referenceData;
+    private final AvailabilityEngine availabilityEngine;
+    private final AvailableSlotsCache availableSlotsCache;
+    private final AvailabilityVersions availabilityVersions;
+    private final BookingDayRepository bookingDayRepository;
+
+    @HandleAfterCreate
+    @HandleAfterSave
+    @HandleAfterDelete
+    public void onAppointmentChange(final GarageAppointment appointment) {
+        evictAll();
+    }
+
+    @HandleAfterCreate
+    @HandleAfterSave
+    @HandleAfterDelete
+    public void onAppointmentOperationChange(final GarageAppointmentOperation appointmentOperation) {
+        evictAll();
+    }
+
+    @HandleAfterCreate
+    @HandleAfterSave
+    @HandleAfterDelete
+    public void onWorkingHoursChange(final EmployeeWorkingHours workingHours) {
+        referenceData.refresh();
+        evictAll();
+    }
+
+    @HandleAfterCreate
+    @HandleAfterSave
+    @HandleAfterDelete
+    public void onGarageBoxChange(final GarageBox garageBox) {
+        referenceData.refresh();
+        evictAll();
+    }
+
+    @HandleAfterCreate
+    @HandleAfterSave
+    @HandleAfterDelete
+    public void onOperationChange(final GarageOperation operation) {
+        referenceData.refresh();
+        evictAll();
+    }
+
+    private void evictAll() {
+        bookingDayRepository.incrementAllRevisions();
+        availabilityEngine.evictAll();
+        availableSlotsCache.evictAll();
+        availabilityVersions.bumpAll();
+    }
+}
@@ -0,0 +1,81 @@
+package com.bloomreach.garage.reservation.api.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Represents the progress of the latest warm-up of the available slots cache.
+ */
+@Data
+@Builder
+public class AvailabilityWarmupStatus {
+
+    private State state;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    /**
+     * The operation combinations warmed up, most frequently requested first.
+     */
+    private List<List<Long>> combinations;
+
+    /**
+     * Number of date and operation combination entries to compute.
+     */
+    private int entries;
+
+    /**
+     * Number of entries computed so far.
+     */
+    private int computedEntries;
+
+    /**
+     * State of a warm-up.
+     */
+    public enum State {
+
+        /**
+         * No warm-up has been started yet.
+         */
+        PENDING,
+
+        /**
+         * The entries are being computed.
+         */
+        RUNNING,
+
+        /**
+         * All entries were computed.
+         */
+        COMPLETED,
+
+        /**
+         * The warm-up did not finish within its timeout, the remaining entries were skipped.
+         */
+        TIMED_OUT,
+
+        /**
+         * The warm-up could not be planned.
+         */
+        FAILED,
+
+        /**
+         * Warm-up at startup is disabled.
+         */
+        DISABLED;
+
+        /**
+         * Returns whether the instance is ready to take traffic in this state.
+         *
+         * @return {@code false} while a warm-up is pending or running.
+         */
+        public boolean isReady() {
+            return this != PENDING && this != RUNNING;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.bloomreach.garage.reservation.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Represents a change of the available time slots of a single date.
+ * <p>
+ * This class is pushed to the subscribers of the availability stream after a change, so that they can update
+ * the slots they received before instead of fetching all of them again.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Change of the available time slots of a single date.")
+public class AvailableSlotsDelta {
+
+    @Schema(description = "The date of the changed slots.", example = "2024-09-01")
+    private LocalDate date;
+
+    @Schema(description = "The time slots that became available, ordered by start time.")
+    private List<AvailableSlot> addedSlots;
+
+    @Schema(description = "The time slots that are no longer available, ordered by start time.")
+    private List<AvailableSlot> removedSlots;
+}
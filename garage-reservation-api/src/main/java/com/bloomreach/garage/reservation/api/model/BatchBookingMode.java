@@ -0,0 +1,20 @@
+package com.bloomreach.garage.reservation.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Defines how a batch booking handles bookings that cannot be made.
+ */
+@Schema(description = "How a batch booking handles bookings that cannot be made.")
+public enum BatchBookingMode {
+
+    /**
+     * Nothing is booked unless every booking of the batch can be made.
+     */
+    ALL_OR_NOTHING,
+
+    /**
+     * Every booking that can be made is booked, the others are reported as rejected.
+     */
+    BEST_EFFORT
+}
@@ -0,0 +1,26 @@
+package com.bloomreach.garage.reservation.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Represents a request to book many appointments at once.
+ * <p>
+ * This class is used by fleet customers to book appointments for several vehicles in a single transaction.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@Schema(description = "Request payload for booking many appointments at once.")
+public class BatchBookingRequest {
+
+    @Schema(description = "How bookings that cannot be made are handled.", example = "ALL_OR_NOTHING",
+            defaultValue = "ALL_OR_NOTHING")
+    private BatchBookingMode mode = BatchBookingMode.ALL_OR_NOTHING;
+
+    @Schema(description = "The bookings to make, results are returned in the same order.")
+    private List<BookingRequest> bookings;
+}
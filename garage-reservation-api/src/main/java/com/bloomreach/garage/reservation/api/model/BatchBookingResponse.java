@@ -0,0 +1,71 @@
+package com.bloomreach.garage.reservation.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Represents the response returned after a batch booking.
+ * <p>
+ * This class contains one result per requested booking, in the order of the request.
+ * </p>
+ */
+@Data
+@Builder
+@Schema(description = "Response payload containing the result of every booking of a batch.")
+public class BatchBookingResponse {
+
+    @Schema(description = "How bookings that could not be made were handled.", example = "ALL_OR_NOTHING")
+    private BatchBookingMode mode;
+
+    @Schema(description = "Number of appointments that were booked.", example = "20")
+    private int bookedCount;
+
+    @Schema(description = "The result of every booking, in the order of the request.")
+    private List<Result> results;
+
+    /**
+     * Outcome of a single booking of the batch.
+     */
+    @Schema(description = "Outcome of a single booking of the batch.")
+    public enum Status {
+
+        /**
+         * The appointment was booked.
+         */
+        BOOKED,
+
+        /**
+         * The booking was invalid or no mechanic or garage box was available.
+         */
+        REJECTED,
+
+        /**
+         * The booking could have been made, but was not because another booking of an all-or-nothing batch was rejected.
+         */
+        NOT_BOOKED
+    }
+
+    /**
+     * Represents the result of a single booking of the batch.
+     */
+    @Data
+    @Builder
+    @Schema(description = "Result of a single booking of the batch.")
+    public static class Result {
+
+        @Schema(description = "Position of the booking in the request.", example = "0")
+        private int index;
+
+        @Schema(description = "Outcome of the booking.", example = "BOOKED")
+        private Status status;
+
+        @Schema(description = "Details of the booked appointment, present only if the booking was made.")
+        private BookingResponse booking;
+
+        @Schema(description = "Reason why the booking was not made.", example = "No available garage boxes")
+        private String error;
+    }
+}
@@ -0,0 +1,28 @@
+package com.bloomreach.garage.reservation.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Represents the available time slots of a single date.
+ * <p>
+ * This class is used by multi-day availability searches to group the available slots by the date they belong to.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Available time slots of a single date.")
+public class DailyAvailableSlots {
+
+    @Schema(description = "The date of the available slots.", example = "2024-09-01")
+    private LocalDate date;
+
+    @Schema(description = "The available time slots of the date, ordered by start time.")
+    private List<AvailableSlot> slots;
+}
@@ -0,0 +1,19 @@
+package com.bloomreach.garage.reservation.api.projection;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Read-only projection of a time range during which a mechanic or a garage box is booked.
+ * <p>
+ * Carries only the ID of the booked resource, so occupancy can be read without loading appointment,
+ * customer, operation or employee entities.
+ * </p>
+ *
+ * @param resourceId The ID of the booked employee or garage box.
+ * @param date       The date of the booking.
+ * @param startTime  The start time of the booking.
+ * @param endTime    The end time of the booking.
+ */
+public record BookedInterval(Long resourceId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+}
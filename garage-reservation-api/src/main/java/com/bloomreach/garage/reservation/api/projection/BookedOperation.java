@@ -0,0 +1,14 @@
+package com.bloomreach.garage.reservation.api.projection;
+
+/**
+ * Read-only projection of an operation booked as part of an appointment.
+ * <p>
+ * Carries only the IDs, so the operation combinations booked together can be read without loading
+ * appointment or operation entities.
+ * </p>
+ *
+ * @param appointmentId The ID of the appointment.
+ * @param operationId   The ID of the booked operation.
+ */
+public record BookedOperation(Long appointmentId, Long operationId) {
+}
@@ -0,0 +1,19 @@
+package com.bloomreach.garage.reservation.api.projection;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Read-only projection of the working hours of a mechanic on a day of the week.
+ * <p>
+ * Carries only the ID of the employee, so availability checks can read working hours without
+ * loading the employee entities.
+ * </p>
+ *
+ * @param employeeId The ID of the employee.
+ * @param dayOfWeek  The day of the week of the working hours.
+ * @param startTime  The time at which the employee starts working.
+ * @param endTime    The time at which the employee stops working.
+ */
+public record WorkingHoursInterval(Long employeeId, DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime) {
+}
@@ -0,0 +1,55 @@
+package com.bloomreach.garage.reservation.api.repository;
+
+import com.bloomreach.garage.reservation.api.entity.BookingDay;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for accessing {@link BookingDay} lock rows.
+ * <p>
+ * The lock rows are an internal concurrency mechanism of the booking flow, so this repository
+ * is not exposed through the REST API.
+ * </p>
+ *
+ * @see BookingDay
+ */
+@RepositoryRestResource(exported = false)
+public interface BookingDayRepository extends JpaRepository<BookingDay, LocalDate> {
+
+    /**
+     * Finds the lock row of a date and locks it for writing until the end of the current transaction.
+     *
+     * @param day The date whose lock row is to be locked.
+     * @return The locked {@link BookingDay}, or an empty optional if the date has no lock row yet.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT bd FROM BookingDay bd WHERE bd.day = :day")
+    Optional<BookingDay> findByDayForUpdate(LocalDate day);
+
+    /**
+     * Finds the lock rows of the given date and all later dates, without locking them.
+     *
+     * @param day The first date.
+     * @return The lock rows of the date and the later dates that have one.
+     */
+    List<BookingDay> findByDayGreaterThanEqual(LocalDate day);
+
+    /**
+     * Increments the revisions of all dates, so that all occupancy snapshots are considered outdated.
+     *
+     * @return The number of updated lock rows.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BookingDay bd SET bd.revision = bd.revision + 1")
+    int incrementAllRevisions();
+}
@@ -1,8 +1,11 @@
 package com.bloomreach.garage.reservation.api.repository;
 
 import com.bloomreach.garage.reservation.api.entity.EmployeeWorkingHours;
+import com.bloomreach.garage.reservation.api.projection.WorkingHoursInterval;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
 
 import java.time.DayOfWeek;
 import java.util.List;
@@ -26,4 +29,18 @@ public interface EmployeeWorkingHoursRepository extends JpaRepository<EmployeeWo
      * @return A list of {@link EmployeeWorkingHours} for all employees on the specified day of the week.
      */
     List<EmployeeWorkingHours> findByDayOfWeek(DayOfWeek dayOfWeek);
+
+    /**
+     * Finds the working hours of all employees on all days of the week, without loading the employees.
+     *
+     * @return A list of {@link WorkingHoursInterval} projections for all employees, ordered by ID.
+     */
+    @RestResource(exported = false)
+    @Query("""
+            SELECT new com.bloomreach.garage.reservation.api.projection.WorkingHoursInterval(
+                ewh.employee.id, ewh.dayOfWeek, ewh.startTime, ewh.endTime)
+            FROM EmployeeWorkingHours ewh
+            ORDER BY ewh.id
+            """)
+    List<WorkingHoursInterval> findAllIntervals();
 }
@@ -1,12 +1,14 @@
 package com.bloomreach.garage.reservation.api.repository;
 
 import com.bloomreach.garage.reservation.api.entity.GarageAppointmentOperation;
+import com.bloomreach.garage.reservation.api.projection.BookedInterval;
+import com.bloomreach.garage.reservation.api.projection.BookedOperation;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.List;
 
 /**
@@ -23,23 +25,61 @@ import java.util.List;
 public interface GarageAppointmentOperationRepository extends JpaRepository<GarageAppointmentOperation, Long> {
 
     /**
-     * Finds all garage appointment operations for a specific employee on a given date
-     * that overlap with the provided time window.
+     * Finds the time ranges during which employees are booked on a given date.
      * <p>
-     * An operation overlaps if it has any time period within the given start and end times,
-     * including cases where the operation starts before and ends after the specified time window.
+     * Only the employee ID and the times of each booked operation are selected, no entities are loaded.
      * </p>
      *
-     * @param employeeId The ID of the employee whose operations are to be checked.
-     * @param date       The date of the appointment operations to search for.
-     * @param startTime  The start time of the time window to check for overlaps.
-     * @param endTime    The end time of the time window to check for overlaps.
-     * @return A list of {@link GarageAppointmentOperation} entities that overlap with the specified time window.
+     * @param date The date of the appointment operations to search for.
+     * @return A list of {@link BookedInterval} projections, one per operation booked on the specified date,
+     * with the ID of the assigned employee as resource ID.
      */
+    @RestResource(exported = false)
     @Query("""
-            SELECT gao FROM GarageAppointmentOperation gao WHERE gao.employee.id = :employeeId
-            AND gao.appointment.date = :date
-            AND ((:startTime < gao.endTime AND :endTime > gao.startTime))
+            SELECT new com.bloomreach.garage.reservation.api.projection.BookedInterval(
+                gao.employee.id, ga.date, gao.startTime, gao.endTime)
+            FROM GarageAppointmentOperation gao
+            JOIN gao.appointment ga
+            WHERE ga.date = :date
             """)
-    List<GarageAppointmentOperation> findOverlappingAppointments(Long employeeId, LocalDate date, LocalTime startTime, LocalTime endTime);
+    List<BookedInterval> findEmployeeIntervalsByDate(LocalDate date);
+
+    /**
+     * Finds the time ranges during which employees are booked within a date range.
+     * <p>
+     * Only the employee ID and the times of each booked operation are selected, no entities are loaded.
+     * </p>
+     *
+     * @param from The first date of the range.
+     * @param to   The last date of the range (inclusive).
+     * @return A list of {@link BookedInterval} projections, one per operation booked within the specified range,
+     * with the ID of the assigned employee as resource ID.
+     */
+    @RestResource(exported = false)
+    @Query("""
+            SELECT new com.bloomreach.garage.reservation.api.projection.BookedInterval(
+                gao.employee.id, ga.date, gao.startTime, gao.endTime)
+            FROM GarageAppointmentOperation gao
+            JOIN gao.appointment ga
+            WHERE ga.date BETWEEN :from AND :to
+            """)
+    List<BookedInterval> findEmployeeIntervalsByDateBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Finds the operations of the appointments booked for a date on or after a given date.
+     * <p>
+     * Only the IDs of the appointment and the operation are selected, no entities are loaded.
+     * </p>
+     *
+     * @param from The first date of the appointments.
+     * @return A list of {@link BookedOperation} projections, one per operation of the matching appointments.
+     */
+    @RestResource(exported = false)
+    @Query("""
+            SELECT new com.bloomreach.garage.reservation.api.projection.BookedOperation(ga.id, gao.operation.id)
+            FROM GarageAppointmentOperation gao
+            JOIN gao.appointment ga
+            WHERE ga.date >= :from
+            """)
+    List<BookedOperation> findBookedOperationsByDateFrom(LocalDate from);
 }
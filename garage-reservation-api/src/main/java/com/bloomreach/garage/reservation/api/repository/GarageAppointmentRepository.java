@@ -1,8 +1,14 @@
 package com.bloomreach.garage.reservation.api.repository;
 
 import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+import com.bloomreach.garage.reservation.api.projection.BookedInterval;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
+
+import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Repository interface for accessing {@link GarageAppointment} entities.
@@ -18,4 +24,43 @@ import org.springframework.data.rest.core.annotation.RepositoryRestResource;
  */
 @RepositoryRestResource(path = "garageAppointments")
 public interface GarageAppointmentRepository extends JpaRepository<GarageAppointment, Long> {
+
+    /**
+     * Finds the time ranges during which garage boxes are booked on a given date.
+     * <p>
+     * Only the garage box ID and the times of each appointment are selected, no entities are loaded.
+     * </p>
+     *
+     * @param date The date of the appointments to search for.
+     * @return A list of {@link BookedInterval} projections, one per appointment booked on the specified date,
+     * with the ID of the garage box as resource ID.
+     */
+    @RestResource(exported = false)
+    @Query("""
+            SELECT new com.bloomreach.garage.reservation.api.projection.BookedInterval(
+                ga.garageBox.id, ga.date, ga.startTime, ga.endTime)
+            FROM GarageAppointment ga
+            WHERE ga.date = :date
+            """)
+    List<BookedInterval> findGarageBoxIntervalsByDate(LocalDate date);
+
+    /**
+     * Finds the time ranges during which garage boxes are booked within a date range.
+     * <p>
+     * Only the garage box ID and the times of each appointment are selected, no entities are loaded.
+     * </p>
+     *
+     * @param from The first date of the range.
+     * @param to   The last date of the range (inclusive).
+     * @return A list of {@link BookedInterval} projections, one per appointment booked within the specified range,
+     * with the ID of the garage box as resource ID.
+     */
+    @RestResource(exported = false)
+    @Query("""
+            SELECT new com.bloomreach.garage.reservation.api.projection.BookedInterval(
+                ga.garageBox.id, ga.date, ga.startTime, ga.endTime)
+            FROM GarageAppointment ga
+            WHERE ga.date BETWEEN :from AND :to
+            """)
+    List<BookedInterval> findGarageBoxIntervalsByDateBetween(LocalDate from, LocalDate to);
 }
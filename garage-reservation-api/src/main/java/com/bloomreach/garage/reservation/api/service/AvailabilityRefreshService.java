@@ -0,0 +1,187 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.api.component.AvailabilityEngine;
+import com.bloomreach.garage.reservation.api.component.AvailabilityRequestStatistics;
+import com.bloomreach.garage.reservation.api.component.AvailabilityVersions;
+import com.bloomreach.garage.reservation.api.component.AvailableSlotsCache;
+import com.bloomreach.garage.reservation.api.component.AvailableSlotsKey;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.event.BookingDayRevisedEvent;
+import com.bloomreach.garage.reservation.config.AvailabilityExecutorConfig;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service refreshing the cached available slots of a date in the background after its bookings commit.
+ * <p>
+ * The most requested cached entries of the date, up to {@code refresh-max-entries}, are kept and served
+ * stale while they are recomputed on the refresh executor; the other entries of the date are evicted right
+ * away. Bookings committed while a refresh of their date is queued are coalesced into it. Once the entries
+ * reflect the bookings, the availability version of the date is bumped, so stale slots are never served
+ * with the tag of the fresh ones.
+ * </p>
+ * <p>
+ * Entries not refreshed within {@code refresh-max-staleness-millis} of a booking are evicted and the version
+ * is bumped anyway by the refresh scheduler, which bounds how long readers can be served stale slots. When
+ * the refresh executor rejects a refresh, the entries of the date are evicted right away instead.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class AvailabilityRefreshService {
+
+    private final AvailabilityService availabilityService;
+    private final AvailableSlotsCache availableSlotsCache;
+    private final AvailabilityVersions availabilityVersions;
+    private final AvailabilityRequestStatistics availabilityRequestStatistics;
+    private final ReservationProperties reservationProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Qualifier(AvailabilityExecutorConfig.AVAILABILITY_REFRESH_EXECUTOR)
+    private final Executor refreshExecutor;
+
+    @Qualifier(AvailabilityExecutorConfig.AVAILABILITY_REFRESH_SCHEDULER)
+    private final TaskScheduler expiryScheduler;
+
+    private final ConcurrentMap<LocalDate, DateRefresh> refreshes = new ConcurrentHashMap<>();
+
+    /**
+     * Schedules a refresh of the cached slots of a date whose bookings committed.
+     * <p>
+     * Runs after the {@link AvailabilityEngine} has applied the bookings, so the refresh already sees
+     * the new occupancy.
+     * </p>
+     *
+     * @param event The event describing the new revision of the date.
+     */
+    @Order(AvailabilityEngine.BOOKING_LISTENER_ORDER + 1)
+    @TransactionalEventListener
+    public void onBookingDayRevised(final BookingDayRevisedEvent event) {
+        // Drop the refreshes of past dates before adding a new one, their slots can no longer be requested
+        final LocalDate today = LocalDate.now();
+        refreshes.keySet().removeIf(refreshDate -> refreshDate.isBefore(today));
+
+        refreshes.computeIfAbsent(event.date(), DateRefresh::new).request();
+    }
+
+    private void countRefresh(final String outcome) {
+        Counter.builder("reservation.cache.refreshes")
+                .description("Number of dates whose cached available slots were refreshed after bookings")
+                .tag("cache", AvailableSlotsCache.NAME)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * The pending and completed refreshes of the cached slots of a date.
+     * <p>
+     * Every booking of the date requests a new generation; a generation is reflected once a refresh
+     * started after it has completed, or once it has expired.
+     * </p>
+     */
+    private final class DateRefresh {
+
+        private final LocalDate date;
+        private final AtomicLong requestedGeneration = new AtomicLong();
+        private final AtomicLong reflectedGeneration = new AtomicLong();
+        private final AtomicBoolean refreshQueued = new AtomicBoolean();
+        private final Object refreshLock = new Object();
+
+        private DateRefresh(final LocalDate date) {
+            this.date = date;
+        }
+
+        private void request() {
+            final long generation = requestedGeneration.incrementAndGet();
+
+            // Entries that will not be refreshed must not be served stale
+            final List<AvailableSlotsKey> keys = rankedKeys();
+            availableSlotsCache.evict(keys.subList(Math.min(keys.size(), reservationProperties.getRefreshMaxEntries()), keys.size()));
+
+            expiryScheduler.schedule(() -> expire(generation),
+                    Instant.now(expiryScheduler.getClock()).plusMillis(reservationProperties.getRefreshMaxStalenessMillis()));
+            if (refreshQueued.compareAndSet(false, true)) {
+                try {
+                    refreshExecutor.execute(this::refresh);
+                } catch (final RejectedExecutionException e) {
+                    // The refresh executor is saturated, readers compute the slots themselves instead
+                    refreshQueued.set(false);
+                    availableSlotsCache.evictDate(date);
+                    reflect(generation, "rejected");
+                }
+            }
+        }
+
+        private void refresh() {
+            // Refreshes of a date run one at a time, bookings committed during one queue the next
+            synchronized (refreshLock) {
+                refreshQueued.set(false);
+                final long generation = requestedGeneration.get();
+
+                final List<AvailableSlotsKey> keys = rankedKeys();
+                for (final AvailableSlotsKey key : keys.subList(0, Math.min(keys.size(), reservationProperties.getRefreshMaxEntries()))) {
+                    try {
+                        availabilityService.refreshAvailableSlots(date, key.operationIds());
+                    } catch (final ValidationError e) {
+                        // The date has left the booking window or an operation was removed
+                        availableSlotsCache.evict(List.of(key));
+                    } catch (final RuntimeException e) {
+                        log.warn("Failed to refresh the available slots of {}", key, e);
+                        availableSlotsCache.evict(List.of(key));
+                    }
+                }
+                reflect(generation, "refreshed");
+            }
+        }
+
+        private void expire(final long generation) {
+            if (reflectedGeneration.get() >= generation) {
+                return;
+            }
+
+            // The refresh fell behind, readers compute the slots themselves until it catches up
+            availableSlotsCache.evictDate(date);
+            reflect(generation, "expired");
+        }
+
+        private void reflect(final long generation, final String outcome) {
+            if (reflectedGeneration.getAndAccumulate(generation, Math::max) < generation) {
+                availabilityVersions.bump(date);
+                countRefresh(outcome);
+            }
+        }
+
+        /**
+         * Returns the keys of the cached entries of the date, most requested first.
+         */
+        private List<AvailableSlotsKey> rankedKeys() {
+            final Map<List<Long>, Long> requestCounts = availabilityRequestStatistics.getRequestCounts();
+            return availableSlotsCache.findKeys(date).stream()
+                    .sorted(Comparator.comparingLong((AvailableSlotsKey key) ->
+                            requestCounts.getOrDefault(key.operationIds(), 0L)).reversed())
+                    .toList();
+        }
+    }
+}
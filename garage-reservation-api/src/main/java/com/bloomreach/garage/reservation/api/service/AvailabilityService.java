@@ -1,27 +1,42 @@
 package com.bloomreach.garage.reservation.api.service;
 
-import com.bloomreach.garage.reservation.api.component.SlotCalculator;
-import com.bloomreach.garage.reservation.api.entity.EmployeeWorkingHours;
-import com.bloomreach.garage.reservation.api.entity.GarageAppointmentOperation;
+import com.bloomreach.garage.reservation.api.component.AvailabilityEngine;
+import com.bloomreach.garage.reservation.api.component.AvailabilityRequestStatistics;
+import com.bloomreach.garage.reservation.api.component.AvailabilityVersions;
+import com.bloomreach.garage.reservation.api.component.AvailableSlotsCache;
+import com.bloomreach.garage.reservation.api.component.AvailableSlotsKey;
+import com.bloomreach.garage.reservation.api.component.ClosureCalendar;
+import com.bloomreach.garage.reservation.api.component.ReferenceData;
+import com.bloomreach.garage.reservation.api.component.ReservationMetrics;
+import com.bloomreach.garage.reservation.api.component.SingleFlight;
 import com.bloomreach.garage.reservation.api.entity.GarageOperation;
 import com.bloomreach.garage.reservation.api.error.ErrorMessage;
 import com.bloomreach.garage.reservation.api.error.ProcessingError;
 import com.bloomreach.garage.reservation.api.error.ValidationError;
 import com.bloomreach.garage.reservation.api.model.AvailableSlot;
-import com.bloomreach.garage.reservation.api.repository.EmployeeWorkingHoursRepository;
-import com.bloomreach.garage.reservation.api.repository.GarageAppointmentOperationRepository;
-import com.bloomreach.garage.reservation.api.repository.GarageOperationRepository;
+import com.bloomreach.garage.reservation.api.model.DailyAvailableSlots;
+import com.bloomreach.garage.reservation.api.projection.WorkingHoursInterval;
 import com.bloomreach.garage.reservation.api.validator.AvailabilityValidator;
+import com.bloomreach.garage.reservation.config.AvailabilityExecutorConfig;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.Comparator;
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static com.bloomreach.garage.reservation.api.component.ReservationMetrics.FLOW_AVAILABILITY;
+import static com.bloomreach.garage.reservation.api.component.ReservationMetrics.STAGE_LOAD;
+import static com.bloomreach.garage.reservation.api.component.ReservationMetrics.STAGE_SEARCH;
+import static com.bloomreach.garage.reservation.api.component.ReservationMetrics.STAGE_VALIDATE;
 
 /**
  * Service responsible for calculating and providing available time slots for garage operations
@@ -31,53 +46,201 @@ import java.util.Set;
 @Service
 public class AvailabilityService {
 
-    private final GarageOperationRepository garageOperationRepository;
-    private final EmployeeWorkingHoursRepository employeeWorkingHoursRepository;
-    private final GarageAppointmentOperationRepository garageAppointmentOperationRepository;
+    private final ReferenceData referenceData;
     private final AvailabilityValidator availabilityValidator;
-    private final SlotCalculator slotCalculator;
+    private final AvailabilityEngine availabilityEngine;
+    private final ClosureCalendar closureCalendar;
+    private final AvailabilityVersions availabilityVersions;
+    private final AvailabilityRequestStatistics availabilityRequestStatistics;
+    private final ReservationMetrics reservationMetrics;
+    private final ReservationProperties reservationProperties;
+
+    @Qualifier(AvailabilityExecutorConfig.AVAILABILITY_EXECUTOR)
+    private final Executor availabilityExecutor;
+
+    private final SingleFlight<SlotsComputation, List<AvailableSlot>> slotsComputations =
+            new SingleFlight<>(this::countSlotsComputation);
 
     /**
      * Finds available time slots for the specified date and list of operation IDs.
+     * <p>
+     * Concurrent cache misses of the same date, operations and availability version share a single
+     * computation, so an evicted popular entry is computed once instead of once per waiting request.
+     * </p>
      *
      * @param date         The date for which to find available slots.
      * @param operationIds The list of operation IDs to check for availability.
-     * @return A list of available time slots for the given date and operations.
+     * @return A list of available time slots for the given date and operations, empty if the garage is closed.
      * @throws ValidationError if the date is not within the allowed range.
      */
-    @Cacheable(value = "availableSlots", key = "#date.toString() + '-' + #operationIds.toString()")
+    @Cacheable(value = AvailableSlotsCache.NAME,
+            key = "T(com.bloomreach.garage.reservation.api.component.AvailableSlotsKey).of(#date, #operationIds)")
+    @Transactional(readOnly = true)
     public List<AvailableSlot> findAvailableSlots(final LocalDate date, final List<Long> operationIds) {
+        // A computation started before a change of the date must not be shared with requests after it
+        final SlotsComputation computation =
+                new SlotsComputation(AvailableSlotsKey.of(date, operationIds), availabilityVersions.eTag(date));
+        return slotsComputations.execute(computation, reservationProperties.getSingleFlightTimeoutMillis(),
+                () -> computeAvailableSlots(date, operationIds));
+    }
+
+    /**
+     * Computes the available time slots for the specified date and list of operation IDs and replaces their
+     * cached entry, which is served until then.
+     *
+     * @param date         The date for which to find available slots.
+     * @param operationIds The list of operation IDs to check for availability.
+     * @return A list of available time slots for the given date and operations, empty if the garage is closed.
+     * @throws ValidationError if the date is not within the allowed range.
+     */
+    @CachePut(value = AvailableSlotsCache.NAME,
+            key = "T(com.bloomreach.garage.reservation.api.component.AvailableSlotsKey).of(#date, #operationIds)")
+    @Transactional(readOnly = true)
+    public List<AvailableSlot> refreshAvailableSlots(final LocalDate date, final List<Long> operationIds) {
+        return computeAvailableSlots(date, operationIds);
+    }
+
+    /**
+     * Computation of the available slots of a date and set of operations at an availability version.
+     *
+     * @param key     The date and sorted operation IDs.
+     * @param version The entity tag of the availability of the date when the computation started.
+     */
+    private record SlotsComputation(AvailableSlotsKey key, String version) {
+    }
+
+    private void countSlotsComputation(final SingleFlight.Outcome outcome) {
+        reservationMetrics.countSingleFlight(FLOW_AVAILABILITY, outcome);
+    }
+
+    private List<AvailableSlot> computeAvailableSlots(final LocalDate date, final List<Long> operationIds) {
+        reservationMetrics.time(FLOW_AVAILABILITY, STAGE_VALIDATE, () -> availabilityValidator.validate(date, operationIds));
+
+        // Nothing can be booked on a closed date
+        if (closureCalendar.isClosed(date)) {
+            return List.of();
+        }
+
+        final List<GarageOperation> operations = referenceData.findOperations(operationIds);
+        if (operations.size() != operationIds.size()) {
+            throw new ValidationError(ErrorMessage.OPERATION_NOT_FOUND);
+        }
+
+        // Search the in-memory occupancy of the date for slots with a free mechanic and garage box
+        return reservationMetrics.time(FLOW_AVAILABILITY, STAGE_SEARCH,
+                () -> availabilityEngine.findAvailableSlots(date, operations));
+    }
+
+    /**
+     * Returns the entity tag of the available slots for the specified date and list of operation IDs.
+     * <p>
+     * The tag changes whenever the availability of the date changes, so a client holding the current tag
+     * does not need the slots to be computed again. It must be obtained before the slots are computed.
+     * </p>
+     * <p>
+     * Every request for the slots of a date obtains the tag, so the requested operations are counted here for
+     * the cache warm-up, whether or not the slots are then computed.
+     * </p>
+     *
+     * @param date         The date for which to find available slots.
+     * @param operationIds The list of operation IDs to check for availability.
+     * @return The entity tag of the available slots.
+     * @throws ValidationError if the date is not within the allowed range.
+     */
+    public String findAvailableSlotsETag(final LocalDate date, final List<Long> operationIds) {
         availabilityValidator.validate(date, operationIds);
+        availabilityRequestStatistics.record(operationIds);
+        return availabilityVersions.eTag(date);
+    }
 
-        final List<GarageOperation> operations = garageOperationRepository.findAllById(operationIds);
+    /**
+     * Finds available time slots for every date of the specified range and list of operation IDs.
+     * <p>
+     * The state of all dates is loaded once for the whole range, after which the dates are computed
+     * in parallel on the bounded availability executor.
+     * </p>
+     *
+     * @param from         The first date of the range.
+     * @param to           The last date of the range (inclusive).
+     * @param operationIds The list of operation IDs to check for availability.
+     * @return The available time slots of each date of the range, ordered by date. Closed dates have no slots.
+     * @throws ValidationError if the range is not within the allowed range.
+     */
+    @Transactional(readOnly = true)
+    public List<DailyAvailableSlots> findAvailableSlots(final LocalDate from, final LocalDate to,
+                                                        final List<Long> operationIds) {
+        reservationMetrics.time(FLOW_AVAILABILITY, STAGE_VALIDATE,
+                () -> availabilityValidator.validateRange(from, to, operationIds));
+
+        final List<GarageOperation> operations = referenceData.findOperations(operationIds);
         if (operations.size() != operationIds.size()) {
             throw new ValidationError(ErrorMessage.OPERATION_NOT_FOUND);
         }
 
-        // Fetch all employee working hours for the specified date
-        final List<EmployeeWorkingHours> availableMechanics = employeeWorkingHoursRepository.findByDayOfWeek(date.getDayOfWeek());
-        final Set<AvailableSlot> availableSlotsSet = new HashSet<>();
-
-        // For each mechanic, calculate slots and filter out those that are booked
-        for (final EmployeeWorkingHours workingHours : availableMechanics) {
-            // Fetch all booked slots for the mechanic on the given date
-            final List<GarageAppointmentOperation> bookedSlots = garageAppointmentOperationRepository.findOverlappingAppointments(
-                    workingHours.getEmployee().getId(), date, workingHours.getStartTime(), workingHours.getEndTime());
-
-            // Filter out booked slots from the available slots
-            final List<AvailableSlot> slots = slotCalculator.calculateSlots(workingHours, operations);
-            final List<AvailableSlot> filteredSlots = slots.stream()
-                    .filter(slot -> bookedSlots.stream()
-                            .noneMatch(bookedSlot -> slot.getStartTime().isBefore(bookedSlot.getEndTime())
-                                    && slot.getEndTime().isAfter(bookedSlot.getStartTime())))
+        // Load the occupancy of all dates of the range at once
+        reservationMetrics.time(FLOW_AVAILABILITY, STAGE_LOAD, () -> availabilityEngine.preloadDays(from, to));
+
+        // Compute each open date in parallel and collect the results in date order
+        return reservationMetrics.time(FLOW_AVAILABILITY, STAGE_SEARCH, () -> {
+            final List<CompletableFuture<DailyAvailableSlots>> futures = from.datesUntil(to.plusDays(1))
+                    .map(date -> closureCalendar.isClosed(date)
+                            ? CompletableFuture.completedFuture(new DailyAvailableSlots(date, List.of()))
+                            : CompletableFuture.supplyAsync(() ->
+                                    new DailyAvailableSlots(date, availabilityEngine.findAvailableSlots(date, operations)),
+                                    availabilityExecutor))
                     .toList();
 
-            availableSlotsSet.addAll(filteredSlots);
+            return futures.stream()
+                    .map(CompletableFuture::join)
+                    .toList();
+        });
+    }
+
+    /**
+     * Finds the earliest available time slots for the specified list of operation IDs within the booking window.
+     * <p>
+     * Dates are searched one by one starting today, and the search stops as soon as {@code limit} slots are
+     * found, without computing the remaining dates or the remaining slots of the last date.
+     * </p>
+     *
+     * @param operationIds The list of operation IDs to check for availability.
+     * @param limit        The maximum number of slots to return.
+     * @return The earliest available time slots grouped per date, ordered by date. Closed dates and dates
+     * without available slots are omitted.
+     * @throws ValidationError if no operation is given, an operation is not found or the limit is not positive.
+     */
+    @Transactional(readOnly = true)
+    public List<DailyAvailableSlots> findEarliestSlots(final List<Long> operationIds, final int limit) {
+        reservationMetrics.time(FLOW_AVAILABILITY, STAGE_VALIDATE,
+                () -> availabilityValidator.validateEarliest(operationIds, limit));
+
+        final List<GarageOperation> operations = referenceData.findOperations(operationIds);
+        if (operations.size() != operationIds.size()) {
+            throw new ValidationError(ErrorMessage.OPERATION_NOT_FOUND);
+        }
+
+        return reservationMetrics.time(FLOW_AVAILABILITY, STAGE_SEARCH, () -> searchEarliestSlots(operations, limit));
+    }
+
+    private List<DailyAvailableSlots> searchEarliestSlots(final List<GarageOperation> operations, final int limit) {
+        final LocalDate today = LocalDate.now();
+        final LocalDate lastDate = today.plusDays(reservationProperties.getMaxAdvanceDays());
+        final List<DailyAvailableSlots> earliestSlots = new ArrayList<>();
+        int remaining = limit;
+
+        for (LocalDate date = today; !date.isAfter(lastDate) && remaining > 0; date = date.plusDays(1)) {
+            if (closureCalendar.isClosed(date)) {
+                continue;
+            }
+
+            final List<AvailableSlot> slots = availabilityEngine.findAvailableSlots(date, operations, remaining);
+            if (!slots.isEmpty()) {
+                earliestSlots.add(new DailyAvailableSlots(date, slots));
+                remaining -= slots.size();
+            }
         }
 
-        return availableSlotsSet.stream()
-                .sorted(Comparator.comparing(AvailableSlot::getStartTime))
-                .toList();
+        return earliestSlots;
     }
 
     /**
@@ -91,14 +254,14 @@ public class AvailabilityService {
      * @throws ProcessingError if any of the operation IDs are not found.
      */
     public boolean isMechanicAvailable(final LocalDate date, final LocalTime startTime, final LocalTime endTime, final List<Long> operationIds) {
-        final List<GarageOperation> operations = garageOperationRepository.findAllById(operationIds);
+        final List<GarageOperation> operations = referenceData.findOperations(operationIds);
         if (operations.size() != operationIds.size()) {
             throw new ProcessingError(ErrorMessage.OPERATION_NOT_FOUND);
         }
 
-        final List<EmployeeWorkingHours> availableMechanics = employeeWorkingHoursRepository.findByDayOfWeek(date.getDayOfWeek());
-        for (final EmployeeWorkingHours workingHours : availableMechanics) {
-            if (startTime.isBefore(workingHours.getEndTime()) && endTime.isAfter(workingHours.getStartTime())) {
+        final List<WorkingHoursInterval> availableMechanics = referenceData.getWorkingHours(date.getDayOfWeek());
+        for (final WorkingHoursInterval workingHours : availableMechanics) {
+            if (startTime.isBefore(workingHours.endTime()) && endTime.isAfter(workingHours.startTime())) {
                 return true;
             }
         }
@@ -0,0 +1,314 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.api.component.AvailableSlotsKey;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.event.AvailabilityChangedEvent;
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import com.bloomreach.garage.reservation.api.model.AvailableSlotsDelta;
+import com.bloomreach.garage.reservation.config.AvailabilityExecutorConfig;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service pushing the available time slots of a date to subscribed clients as Server-Sent Events.
+ * <p>
+ * Subscribers of the same date and set of operations share one stream: its slots are recomputed once per
+ * {@link AvailabilityChangedEvent} and the differences are fanned out to all of them. A subscriber first
+ * receives a {@value #SLOTS_EVENT} event with all available slots, followed by a {@value #DELTA_EVENT}
+ * event with the added and removed slots after each change.
+ * </p>
+ * <p>
+ * Recomputations and sends run on the stream executor, never on the thread committing the change. Every
+ * subscriber has a bounded buffer of pending events; a subscriber too slow to keep up is disconnected
+ * instead of buffering without limit, and is expected to reconnect for a fresh list of slots. Subscribers
+ * are disconnected the same way when the queue of the stream executor is full.
+ * </p>
+ */
+@Slf4j
+@Service
+public class AvailabilityStreamService {
+
+    public static final String SLOTS_EVENT = "slots";
+    public static final String DELTA_EVENT = "delta";
+
+    private final AvailabilityService availabilityService;
+    private final ReservationProperties reservationProperties;
+    private final Executor streamExecutor;
+    private final Counter overflows;
+
+    private final ConcurrentMap<AvailableSlotsKey, SlotStream> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    public AvailabilityStreamService(final AvailabilityService availabilityService,
+                                     final ReservationProperties reservationProperties,
+                                     @Qualifier(AvailabilityExecutorConfig.AVAILABILITY_STREAM_EXECUTOR) final Executor streamExecutor,
+                                     final MeterRegistry meterRegistry) {
+        this.availabilityService = availabilityService;
+        this.reservationProperties = reservationProperties;
+        this.streamExecutor = streamExecutor;
+        this.overflows = Counter.builder("reservation.stream.overflows")
+                .description("Number of stream subscribers disconnected because their buffer or the executor queue was full")
+                .register(meterRegistry);
+        Gauge.builder("reservation.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Number of clients subscribed to availability streams")
+                .register(meterRegistry);
+        Gauge.builder("reservation.stream.streams", streams, ConcurrentMap::size)
+                .description("Number of distinct availability streams with subscribers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to the available time slots of the specified date and list of operation IDs.
+     *
+     * @param date         The date of the available slots.
+     * @param operationIds The list of operation IDs to check for availability.
+     * @return The emitter sending the initial slots and their subsequent changes.
+     * @throws ValidationError if the date is not within the allowed range or an operation is not found.
+     */
+    public SseEmitter subscribe(final LocalDate date, final List<Long> operationIds) {
+        // Validate on every subscription, an existing stream may belong to a date that is no longer allowed
+        final String eTag = availabilityService.findAvailableSlotsETag(date, operationIds);
+        final AvailableSlotsKey key = AvailableSlotsKey.of(date, operationIds);
+
+        final SseEmitter emitter = new SseEmitter(reservationProperties.getStreamTimeoutMillis());
+        final Subscriber subscriber = new Subscriber(emitter);
+
+        // A stream without subscribers is closed concurrently, in which case a new one is opened
+        SlotStream stream;
+        do {
+            stream = streams.get(key);
+            if (stream == null) {
+                stream = open(key, eTag);
+            }
+        } while (!stream.join(subscriber));
+
+        emitter.onCompletion(subscriber::leave);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscriber.leave());
+        return emitter;
+    }
+
+    /**
+     * Recomputes the streams of the dates whose availability changed.
+     *
+     * @param event The event describing the change.
+     */
+    @EventListener
+    public void onAvailabilityChanged(final AvailabilityChangedEvent event) {
+        streams.values().stream()
+                .filter(stream -> event.affects(stream.key.date()))
+                .forEach(SlotStream::refresh);
+    }
+
+    private SlotStream open(final AvailableSlotsKey key, final String eTag) {
+        final SlotStream created = new SlotStream(key,
+                availabilityService.findAvailableSlots(key.date(), key.operationIds()));
+        final SlotStream existing = streams.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        // A change committed while the slots were computed was not seen by the stream yet
+        if (!eTag.equals(availabilityService.findAvailableSlotsETag(key.date(), key.operationIds()))) {
+            created.refresh();
+        }
+        return created;
+    }
+
+    private static AvailableSlotsDelta delta(final LocalDate date, final List<AvailableSlot> previous,
+                                             final List<AvailableSlot> latest) {
+        final Set<AvailableSlot> added = new LinkedHashSet<>(latest);
+        previous.forEach(added::remove);
+        final Set<AvailableSlot> removed = new LinkedHashSet<>(previous);
+        latest.forEach(removed::remove);
+        return new AvailableSlotsDelta(date, List.copyOf(added), List.copyOf(removed));
+    }
+
+    /**
+     * The shared slots of a date and set of operations and the clients subscribed to them.
+     */
+    private final class SlotStream {
+
+        private final AvailableSlotsKey key;
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private final AtomicBoolean refreshQueued = new AtomicBoolean();
+        private final Object refreshLock = new Object();
+        private List<AvailableSlot> slots;
+        private boolean closed;
+
+        private SlotStream(final AvailableSlotsKey key, final List<AvailableSlot> slots) {
+            this.key = key;
+            this.slots = slots;
+        }
+
+        /**
+         * Adds the subscriber and sends it the current slots, unless the stream has already been closed.
+         */
+        private synchronized boolean join(final Subscriber subscriber) {
+            if (closed) {
+                return false;
+            }
+            subscribers.add(subscriber);
+            subscriberCount.incrementAndGet();
+            subscriber.stream = this;
+            subscriber.send(SLOTS_EVENT, slots);
+            return true;
+        }
+
+        private synchronized void leave(final Subscriber subscriber) {
+            if (subscribers.remove(subscriber) && subscribers.isEmpty()) {
+                closed = true;
+                streams.remove(key, this);
+            }
+        }
+
+        /**
+         * Schedules a recomputation of the slots, unless one is already scheduled and has not started yet.
+         */
+        private void refresh() {
+            if (refreshQueued.compareAndSet(false, true)) {
+                try {
+                    streamExecutor.execute(this::recompute);
+                } catch (final RejectedExecutionException e) {
+                    // The change would never be sent, the subscribers reconnect for the latest slots instead
+                    log.debug("Disconnecting the subscribers of {}, the stream executor is saturated", key);
+                    refreshQueued.set(false);
+                    disconnectAll();
+                }
+            }
+        }
+
+        private void recompute() {
+            // Recomputations run one at a time, so deltas are always computed against the latest slots sent
+            synchronized (refreshLock) {
+                refreshQueued.set(false);
+                try {
+                    publish(availabilityService.findAvailableSlots(key.date(), key.operationIds()));
+                } catch (final ValidationError e) {
+                    // The date has passed or is no longer valid, so no further changes will be sent
+                    closeAll();
+                } catch (final RuntimeException e) {
+                    log.warn("Failed to recompute the available slots of {}", key, e);
+                }
+            }
+        }
+
+        private synchronized void publish(final List<AvailableSlot> latest) {
+            if (closed) {
+                return;
+            }
+
+            final AvailableSlotsDelta delta = delta(key.date(), slots, latest);
+            slots = latest;
+            if (delta.getAddedSlots().isEmpty() && delta.getRemovedSlots().isEmpty()) {
+                return;
+            }
+
+            // Subscribers overflowing their buffer leave the stream while it is being iterated
+            List.copyOf(subscribers).forEach(subscriber -> subscriber.send(DELTA_EVENT, delta));
+        }
+
+        private synchronized void closeAll() {
+            List.copyOf(subscribers).forEach(Subscriber::close);
+        }
+
+        private synchronized void disconnectAll() {
+            overflows.increment(subscribers.size());
+            closeAll();
+        }
+    }
+
+    /**
+     * A subscribed client with its bounded buffer of events not sent yet.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean left = new AtomicBoolean();
+        private volatile SlotStream stream;
+
+        private Subscriber(final SseEmitter emitter) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(Math.max(1, reservationProperties.getStreamBufferSize()));
+        }
+
+        /**
+         * Buffers the event and schedules sending it, or disconnects the subscriber if its buffer is full.
+         */
+        private void send(final String name, final Object data) {
+            if (left.get()) {
+                return;
+            }
+
+            if (!buffer.offer(SseEmitter.event().name(name).data(data))) {
+                overflows.increment();
+                log.debug("Disconnecting a slow subscriber of {}", stream.key);
+                close();
+                return;
+            }
+
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    streamExecutor.execute(this::drain);
+                } catch (final RejectedExecutionException e) {
+                    overflows.increment();
+                    log.debug("Disconnecting a subscriber of {}, the stream executor is saturated", stream.key);
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while (!left.get() && (event = buffer.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (final IOException | IllegalStateException e) {
+                        // The client went away, the container completes the emitter
+                        leave();
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!left.get() && !buffer.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void close() {
+            leave();
+            emitter.complete();
+        }
+
+        private void leave() {
+            if (left.compareAndSet(false, true)) {
+                buffer.clear();
+                subscriberCount.decrementAndGet();
+                stream.leave(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.api.component.AvailabilityEngine;
+import com.bloomreach.garage.reservation.api.component.AvailabilityVersions;
+import com.bloomreach.garage.reservation.api.component.AvailableSlotsCache;
+import com.bloomreach.garage.reservation.api.component.ClosureCalendar;
+import com.bloomreach.garage.reservation.api.component.ReferenceData;
+import com.bloomreach.garage.reservation.api.entity.BookingDay;
+import com.bloomreach.garage.reservation.api.event.BookingDayRevisedEvent;
+import com.bloomreach.garage.reservation.api.repository.BookingDayRepository;
+import com.bloomreach.garage.reservation.config.AvailabilityExecutorConfig;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Service keeping the in-memory availability of this instance consistent with changes committed by other
+ * instances sharing the database.
+ * <p>
+ * Every {@code sync-interval-millis} it reads the revisions of the booking days from today on and drops the
+ * occupancy snapshot and the cached slots of every date whose revision is newer than the last one this
+ * instance has seen. Revisions of bookings committed by this instance are recorded as they commit, so its
+ * own bookings never cause an eviction. The reference data and the closed dates are reloaded as well; when
+ * the reference data changed, all snapshots and cached slots are dropped, and when the closed dates changed,
+ * all cached slots are.
+ * </p>
+ * <p>
+ * The availability versions of the affected dates are bumped once their slots are dropped, so clients polling
+ * this instance with the tag of the stale slots receive the changed ones.
+ * </p>
+ * <p>
+ * Changes of other instances are therefore reflected within one interval, while slot searches keep running
+ * without querying the database. Revisions known when the application became ready are taken as the baseline,
+ * nothing has been loaded before then.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class AvailabilitySyncService {
+
+    private final BookingDayRepository bookingDayRepository;
+    private final ReferenceData referenceData;
+    private final ClosureCalendar closureCalendar;
+    private final AvailabilityEngine availabilityEngine;
+    private final AvailableSlotsCache availableSlotsCache;
+    private final AvailabilityVersions availabilityVersions;
+    private final ReservationProperties reservationProperties;
+
+    @Qualifier(AvailabilityExecutorConfig.AVAILABILITY_SYNC_SCHEDULER)
+    private final TaskScheduler syncScheduler;
+
+    private final ConcurrentMap<LocalDate, Long> knownRevisions = new ConcurrentHashMap<>();
+
+    /**
+     * Takes the revisions of the booking days as the baseline and schedules the periodic checks, unless they
+     * are disabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        final long intervalMillis = reservationProperties.getSyncIntervalMillis();
+        if (intervalMillis <= 0) {
+            return;
+        }
+
+        findRevisions().forEach(this::recordRevision);
+        syncScheduler.scheduleWithFixedDelay(this::synchronize, Duration.ofMillis(intervalMillis));
+    }
+
+    /**
+     * Records the revision of a date whose bookings were committed by this instance.
+     *
+     * @param event The event describing the new revision of the date.
+     */
+    @Order(AvailabilityEngine.BOOKING_LISTENER_ORDER + 1)
+    @TransactionalEventListener
+    public void onBookingDayRevised(final BookingDayRevisedEvent event) {
+        knownRevisions.merge(event.date(), event.revision(), Math::max);
+    }
+
+    /**
+     * Drops the snapshots and cached slots changed by other instances since the previous check.
+     */
+    public void synchronize() {
+        try {
+            // Read the revisions first, so a change committed meanwhile is caught by the next check at the latest
+            final List<BookingDay> revisions = findRevisions();
+            final boolean referenceDataChanged = referenceData.refresh();
+            final boolean closuresChanged = closureCalendar.refresh();
+
+            if (referenceDataChanged) {
+                log.info("Reference data changed by another instance, dropping all availability");
+                availabilityEngine.evictAll();
+                availableSlotsCache.evictAll();
+                availabilityVersions.bumpAll();
+            } else {
+                // The occupancy snapshots do not depend on the closures, only the cached slots do
+                if (closuresChanged) {
+                    log.info("Closures changed by another instance, dropping all cached slots");
+                    availableSlotsCache.evictAll();
+                    availabilityVersions.bumpAll();
+                }
+                revisions.stream()
+                        .filter(bookingDay -> bookingDay.getRevision() > knownRevisions.getOrDefault(bookingDay.getDay(), -1L))
+                        .forEach(bookingDay -> evictDate(bookingDay.getDay()));
+            }
+            revisions.forEach(this::recordRevision);
+
+            final LocalDate today = LocalDate.now();
+            knownRevisions.keySet().removeIf(date -> date.isBefore(today));
+        } catch (final RuntimeException e) {
+            // The next check retries, a failing database must not stop the schedule
+            log.warn("Failed to synchronize the availability with other instances", e);
+        }
+    }
+
+    private void evictDate(final LocalDate date) {
+        log.debug("Bookings of {} changed by another instance, dropping its availability", date);
+        availabilityEngine.evictDate(date);
+        availableSlotsCache.evictDate(date);
+        availabilityVersions.bump(date);
+    }
+
+    private List<BookingDay> findRevisions() {
+        return bookingDayRepository.findByDayGreaterThanEqual(LocalDate.now());
+    }
+
+    private void recordRevision(final BookingDay bookingDay) {
+        knownRevisions.merge(bookingDay.getDay(), bookingDay.getRevision(), Math::max);
+    }
+}
@@ -0,0 +1,218 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.api.component.AvailabilityEngine;
+import com.bloomreach.garage.reservation.api.component.AvailabilityRequestStatistics;
+import com.bloomreach.garage.reservation.api.component.ReferenceData;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.model.AvailabilityWarmupStatus;
+import com.bloomreach.garage.reservation.api.model.AvailabilityWarmupStatus.State;
+import com.bloomreach.garage.reservation.api.projection.BookedOperation;
+import com.bloomreach.garage.reservation.api.repository.GarageAppointmentOperationRepository;
+import com.bloomreach.garage.reservation.config.AvailabilityExecutorConfig;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service precomputing the available slots cache for the whole booking window.
+ * <p>
+ * A warm-up runs once the application has started and whenever it is triggered through the Actuator. It loads
+ * the occupancy of all dates of the booking window at once and then computes the available slots of every date
+ * for the most frequently requested operation combinations, in parallel on the bounded warm-up executor.
+ * </p>
+ * <p>
+ * The combinations are ranked by the requests counted by this instance and by the operations of the appointments
+ * booked during the configured history, which survive a restart. The request counts are kept in memory only,
+ * so right after a deploy the combinations come from the booking history alone; as long as fewer combinations
+ * than configured are known, the remaining ones are filled with single operations, so even an instance
+ * without any history warms up the most basic requests. The instance reports itself as not ready while
+ * a warm-up is running, until it has completed or timed out.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class AvailabilityWarmupService {
+
+    private final AvailabilityService availabilityService;
+    private final AvailabilityEngine availabilityEngine;
+    private final AvailabilityRequestStatistics availabilityRequestStatistics;
+    private final ReferenceData referenceData;
+    private final GarageAppointmentOperationRepository garageAppointmentOperationRepository;
+    private final ReservationProperties reservationProperties;
+
+    @Qualifier(AvailabilityExecutorConfig.AVAILABILITY_WARMUP_EXECUTOR)
+    private final Executor warmupExecutor;
+
+    private volatile Warmup current = new Warmup(State.PENDING);
+
+    /**
+     * Starts the warm-up once the application is ready, unless warm-up at startup is disabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (reservationProperties.isWarmupEnabled()) {
+            start();
+        } else {
+            current = new Warmup(State.DISABLED);
+        }
+    }
+
+    /**
+     * Starts a warm-up in the background, unless one is already running.
+     *
+     * @return {@code true} if a warm-up was started.
+     */
+    public synchronized boolean start() {
+        if (current.state == State.RUNNING) {
+            return false;
+        }
+
+        final Warmup warmup = new Warmup(State.RUNNING);
+        current = warmup;
+        CompletableFuture.supplyAsync(warmup::plan, warmupExecutor)
+                .thenCompose(warmup::run)
+                .orTimeout(reservationProperties.getWarmupTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> warmup.finish(error));
+        return true;
+    }
+
+    /**
+     * Returns the progress of the latest warm-up.
+     *
+     * @return The status of the latest warm-up.
+     */
+    public AvailabilityWarmupStatus getStatus() {
+        return current.toStatus();
+    }
+
+    /**
+     * Ranks the operation combinations by the number of requests and bookings, most frequent first, followed
+     * by the single operations not ranked yet.
+     */
+    private List<List<Long>> findFrequentCombinations() {
+        final Map<List<Long>, Long> counts = new HashMap<>(availabilityRequestStatistics.getRequestCounts());
+
+        // Appointments booked recently are the best known requests after a restart
+        final LocalDate historyStart = LocalDate.now().minusDays(reservationProperties.getWarmupHistoryDays());
+        garageAppointmentOperationRepository.findBookedOperationsByDateFrom(historyStart).stream()
+                .collect(Collectors.groupingBy(BookedOperation::appointmentId,
+                        Collectors.mapping(BookedOperation::operationId, Collectors.toList())))
+                .values()
+                .forEach(operationIds -> counts.merge(operationIds.stream().sorted().toList(), 1L, Long::sum));
+
+        // Single operations come last, they are the likeliest requests when nothing has been counted yet
+        return Stream.concat(
+                        counts.entrySet().stream()
+                                .sorted(Map.Entry.<List<Long>, Long>comparingByValue().reversed())
+                                .map(Map.Entry::getKey),
+                        referenceData.getOperationIds().stream().map(List::of))
+                .distinct()
+                .limit(reservationProperties.getWarmupCombinations())
+                .toList();
+    }
+
+    /**
+     * A single warm-up run and its progress.
+     */
+    private final class Warmup {
+
+        private volatile State state;
+        private final Instant startedAt = Instant.now();
+        private volatile Instant finishedAt;
+        private volatile List<List<Long>> combinations = List.of();
+        private volatile int entries;
+        private final AtomicInteger computedEntries = new AtomicInteger();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        private Warmup(final State state) {
+            this.state = state;
+        }
+
+        private List<List<Long>> plan() {
+            combinations = findFrequentCombinations();
+
+            // Load the occupancy of the whole booking window with a fixed number of queries first
+            final LocalDate today = LocalDate.now();
+            availabilityEngine.preloadDays(today, today.plusDays(reservationProperties.getMaxAdvanceDays()));
+            return combinations;
+        }
+
+        private CompletableFuture<Void> run(final List<List<Long>> plannedCombinations) {
+            final LocalDate today = LocalDate.now();
+            final List<LocalDate> dates = today.datesUntil(today.plusDays(reservationProperties.getMaxAdvanceDays() + 1L))
+                    .toList();
+            entries = dates.size() * plannedCombinations.size();
+
+            // Compute the dates nearest to today first, they are requested the most
+            return CompletableFuture.allOf(dates.stream()
+                    .flatMap(date -> plannedCombinations.stream()
+                            .map(operationIds -> CompletableFuture.runAsync(() -> compute(date, operationIds), warmupExecutor)))
+                    .toArray(CompletableFuture[]::new));
+        }
+
+        private void compute(final LocalDate date, final List<Long> operationIds) {
+            if (cancelled.get()) {
+                return;
+            }
+
+            try {
+                // Called through the proxy of the service, so the computed slots are cached
+                availabilityService.findAvailableSlots(date, operationIds);
+            } catch (final ValidationError e) {
+                // An operation was removed since it was requested, or the date left the booking window
+                log.debug("Skipped warming up the available slots of {} for {}: {}", date, operationIds, e.getMessage());
+            } catch (final RuntimeException e) {
+                // A single entry failing must not stop the others, it is computed on first request instead
+                log.warn("Failed to warm up the available slots of {} for {}", date, operationIds, e);
+            }
+            computedEntries.incrementAndGet();
+        }
+
+        private void finish(final Throwable error) {
+            finishedAt = Instant.now();
+            if (error == null) {
+                state = State.COMPLETED;
+                log.info("Warmed up {} available slots entries in {} ms", computedEntries.get(),
+                        finishedAt.toEpochMilli() - startedAt.toEpochMilli());
+            } else if (error instanceof TimeoutException) {
+                cancelled.set(true);
+                state = State.TIMED_OUT;
+                log.warn("Available slots warm-up timed out after {} of {} entries", computedEntries.get(), entries);
+            } else {
+                cancelled.set(true);
+                state = State.FAILED;
+                log.warn("Available slots warm-up failed", error);
+            }
+        }
+
+        private AvailabilityWarmupStatus toStatus() {
+            return AvailabilityWarmupStatus.builder()
+                    .state(state)
+                    .startedAt(state == State.PENDING || state == State.DISABLED ? null : startedAt)
+                    .finishedAt(finishedAt)
+                    .combinations(combinations)
+                    .entries(entries)
+                    .computedEntries(computedEntries.get())
+                    .build();
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.bloomreach.garage.reservation.api.service;
 
 import com.bloomreach.garage.reservation.api.component.AppointmentBuilder;
+import com.bloomreach.garage.reservation.api.component.AvailabilityEngine;
+import com.bloomreach.garage.reservation.api.component.BookingDayLock;
+import com.bloomreach.garage.reservation.api.component.BookingLockManager;
+import com.bloomreach.garage.reservation.api.component.DayOccupancy;
 import com.bloomreach.garage.reservation.api.component.GarageBoxAllocator;
-import com.bloomreach.garage.reservation.api.component.MechanicAvailabilityChecker;
+import com.bloomreach.garage.reservation.api.component.OperationAssignment;
+import com.bloomreach.garage.reservation.api.component.ReferenceData;
+import com.bloomreach.garage.reservation.api.component.ReservationMetrics;
+import com.bloomreach.garage.reservation.api.entity.BookingDay;
 import com.bloomreach.garage.reservation.api.entity.Customer;
 import com.bloomreach.garage.reservation.api.entity.Employee;
 import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
@@ -10,31 +17,65 @@ import com.bloomreach.garage.reservation.api.entity.GarageBox;
 import com.bloomreach.garage.reservation.api.entity.GarageOperation;
 import com.bloomreach.garage.reservation.api.error.ErrorMessage;
 import com.bloomreach.garage.reservation.api.error.ProcessingError;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.event.AppointmentBookedEvent;
+import com.bloomreach.garage.reservation.api.event.BookingDayRevisedEvent;
+import com.bloomreach.garage.reservation.api.model.BatchBookingMode;
+import com.bloomreach.garage.reservation.api.model.BatchBookingRequest;
+import com.bloomreach.garage.reservation.api.model.BatchBookingResponse;
 import com.bloomreach.garage.reservation.api.model.BookingRequest;
 import com.bloomreach.garage.reservation.api.model.BookingResponse;
+import com.bloomreach.garage.reservation.api.projection.WorkingHoursInterval;
 import com.bloomreach.garage.reservation.api.repository.CustomerRepository;
+import com.bloomreach.garage.reservation.api.repository.EmployeeRepository;
 import com.bloomreach.garage.reservation.api.repository.GarageAppointmentRepository;
-import com.bloomreach.garage.reservation.api.repository.GarageOperationRepository;
 import com.bloomreach.garage.reservation.api.validator.BookingValidator;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.bloomreach.garage.reservation.api.component.IntervalIndex.toMinuteOfDay;
+import static com.bloomreach.garage.reservation.api.component.ReservationMetrics.FLOW_BATCH_BOOKING;
+import static com.bloomreach.garage.reservation.api.component.ReservationMetrics.FLOW_BOOKING;
+import static com.bloomreach.garage.reservation.api.component.ReservationMetrics.STAGE_ALLOCATION;
+import static com.bloomreach.garage.reservation.api.component.ReservationMetrics.STAGE_AVAILABILITY;
+import static com.bloomreach.garage.reservation.api.component.ReservationMetrics.STAGE_BOX_ALLOCATION;
+import static com.bloomreach.garage.reservation.api.component.ReservationMetrics.STAGE_LOAD;
+import static com.bloomreach.garage.reservation.api.component.ReservationMetrics.STAGE_MECHANIC_LOOKUP;
+import static com.bloomreach.garage.reservation.api.component.ReservationMetrics.STAGE_PERSIST;
+import static com.bloomreach.garage.reservation.api.component.ReservationMetrics.STAGE_VALIDATE;
 
 @RequiredArgsConstructor
 @Service
 public class BookingService {
 
     private final AvailabilityService availabilityService;
+    private final AvailabilityEngine availabilityEngine;
+    private final BookingDayLock bookingDayLock;
+    private final BookingLockManager bookingLockManager;
     private final CustomerRepository customerRepository;
+    private final EmployeeRepository employeeRepository;
     private final GarageAppointmentRepository garageAppointmentRepository;
-    private final GarageOperationRepository garageOperationRepository;
+    private final ReferenceData referenceData;
     private final GarageBoxAllocator garageBoxAllocator;
-    private final MechanicAvailabilityChecker mechanicAvailabilityChecker;
     private final BookingValidator bookingValidator;
     private final AppointmentBuilder appointmentBuilder;
+    private final ReservationMetrics reservationMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Books an appointment based on the provided booking request.
@@ -43,25 +84,43 @@ public class BookingService {
      * @return A response containing the booked appointment details.
      * @throws ProcessingError if validation fails or if resources are not available.
      */
-    @Transactional
-    @CacheEvict(value = "availableSlots", allEntries = true/*, condition = "#date != null" */)
     public BookingResponse bookAppointment(final BookingRequest request) {
-        // Validate the booking request
-        bookingValidator.validate(request);
+        try {
+            // Validate the booking request
+            reservationMetrics.time(FLOW_BOOKING, STAGE_VALIDATE, () -> bookingValidator.validate(request));
+
+            // Queue behind other bookings of the same date in this instance before opening a transaction,
+            // the lock is held until the transaction has completed and its listeners have run
+            return bookingLockManager.withLock(request.getDate(),
+                    () -> transactionTemplate.execute(status -> book(request)));
+        } catch (final RuntimeException e) {
+            reservationMetrics.countFailure(FLOW_BOOKING, e);
+            throw e;
+        }
+    }
+
+    private BookingResponse book(final BookingRequest request) {
+        // Serialize bookings of the same date across instances until this transaction completes
+        final BookingDay bookingDay = bookingDayLock.lock(request.getDate());
 
         // Validate that the slot is available using AvailabilityService
-        final boolean slotAvailable = availabilityService.isMechanicAvailable(
-                request.getDate(), request.getStartTime(), request.getEndTime(), request.getOperationIds());
+        final boolean slotAvailable = reservationMetrics.time(FLOW_BOOKING, STAGE_AVAILABILITY,
+                () -> availabilityService.isMechanicAvailable(
+                        request.getDate(), request.getStartTime(), request.getEndTime(), request.getOperationIds()));
         if (!slotAvailable) {
             throw new ProcessingError(ErrorMessage.NO_AVAILABLE_MECHANICS_FOR_THIS_TIME_SLOT);
         }
 
-        // Fetch the first available garage box
-        final GarageBox garageBox = garageBoxAllocator.allocateGarageBox(
-                request.getDate(), request.getStartTime(), request.getEndTime());
+        // Reuse the occupancy snapshot of the date if no appointment changed since it was taken
+        final DayOccupancy day = reservationMetrics.time(FLOW_BOOKING, STAGE_LOAD,
+                () -> availabilityEngine.getDay(request.getDate(), bookingDay.getRevision()));
+
+        // Fetch the best fitting available garage box
+        final GarageBox garageBox = reservationMetrics.time(FLOW_BOOKING, STAGE_BOX_ALLOCATION,
+                () -> garageBoxAllocator.allocateGarageBox(day, request.getStartTime(), request.getEndTime()));
 
         // Fetch the operations to be performed
-        final List<GarageOperation> operations = garageOperationRepository.findAllById(request.getOperationIds());
+        final List<GarageOperation> operations = referenceData.findOperations(request.getOperationIds());
         if (operations.size() != request.getOperationIds().size()) {
             throw new ProcessingError(ErrorMessage.OPERATION_NOT_FOUND);
         }
@@ -70,18 +129,224 @@ public class BookingService {
         final Customer customer = customerRepository.findById(request.getCustomerId())
                 .orElseThrow(() -> new ProcessingError(ErrorMessage.INVALID_CUSTOMER_ID));
 
-        // Find available mechanics for the operations
-        final List<Employee> availableMechanics = mechanicAvailabilityChecker.findAvailableMechanics(
-                request.getDate(), request.getStartTime(), request.getEndTime());
+        // Assign the operations to mechanics based on the current occupancy of the date
+        final List<OperationAssignment> assignments = reservationMetrics.time(FLOW_BOOKING, STAGE_MECHANIC_LOOKUP,
+                () -> appointmentBuilder.assignMechanics(day, request.getStartTime(), operations))
+                .orElseThrow(() -> new ProcessingError(ErrorMessage.NO_AVAILABLE_MECHANICS_FOR_THIS_OPERATION));
+        final Map<Long, Employee> mechanics = findMechanics(assignments.stream()
+                .map(OperationAssignment::employeeId)
+                .collect(Collectors.toSet()));
 
         // Build the appointment with the given details
         final GarageAppointment appointment = appointmentBuilder.buildAppointment(
-                customer, request.getDate(), request.getStartTime(), request.getEndTime(), garageBox, operations, availableMechanics);
+                customer, request.getDate(), request.getStartTime(), request.getEndTime(), garageBox, assignments, mechanics);
 
-        // Save the appointment
-        final GarageAppointment savedAppointment = garageAppointmentRepository.save(appointment);
+        // Save the appointment and the new revision of the date, flushing so that the writes are part of the persist stage
+        bookingDay.setRevision(bookingDay.getRevision() + 1);
+        final GarageAppointment savedAppointment = reservationMetrics.time(FLOW_BOOKING, STAGE_PERSIST,
+                () -> garageAppointmentRepository.saveAndFlush(appointment));
+
+        // Let the availability engine and the slots cache pick up the booking once the transaction commits
+        eventPublisher.publishEvent(new AppointmentBookedEvent(savedAppointment));
+        eventPublisher.publishEvent(new BookingDayRevisedEvent(request.getDate(), bookingDay.getRevision()));
 
         // Build and return the response with the appointment and operation details
+        return toResponse(customer, savedAppointment);
+    }
+
+    /**
+     * Books many appointments in a single transaction.
+     * <p>
+     * Every booking is validated on its own first, bookings missing a required field are rejected like any
+     * other invalid booking. The bookings are then resolved in request order against one occupancy snapshot
+     * per date, validated against the revision of the date while the dates are locked. Each allocated
+     * appointment is applied to its snapshot, so no mechanic or garage box is allocated twice within the
+     * batch. All appointments are saved together with batched inserts.
+     * </p>
+     *
+     * @param request The batch booking request containing the bookings and the mode of the batch.
+     * @return A response containing the result of every booking, in the order of the request.
+     * @throws ValidationError if the batch is empty or too large.
+     */
+    public BatchBookingResponse bookAppointments(final BatchBookingRequest request) {
+        try {
+            bookingValidator.validateBatch(request);
+        } catch (final ValidationError e) {
+            reservationMetrics.countFailure(FLOW_BATCH_BOOKING, e);
+            throw e;
+        }
+
+        final BatchBookingMode mode = request.getMode() == null ? BatchBookingMode.ALL_OR_NOTHING : request.getMode();
+        final List<BookingRequest> bookings = request.getBookings();
+        final RuntimeException[] errors = new RuntimeException[bookings.size()];
+        reservationMetrics.time(FLOW_BATCH_BOOKING, STAGE_VALIDATE, () -> {
+            for (int i = 0; i < bookings.size(); i++) {
+                try {
+                    bookingValidator.validate(bookings.get(i));
+                } catch (final ValidationError e) {
+                    errors[i] = e;
+                }
+            }
+        });
+
+        // Lock only the dates of valid bookings, an all-or-nothing batch with invalid bookings books nothing
+        final List<LocalDate> dates = IntStream.range(0, bookings.size())
+                .filter(i -> errors[i] == null)
+                .mapToObj(i -> bookings.get(i).getDate())
+                .distinct()
+                .sorted()
+                .toList();
+        final boolean rejected = Arrays.stream(errors).anyMatch(Objects::nonNull);
+        final BookingResponse[] booked = dates.isEmpty() || (rejected && mode == BatchBookingMode.ALL_OR_NOTHING)
+                ? new BookingResponse[bookings.size()]
+                : bookingLockManager.withLocks(dates,
+                        () -> transactionTemplate.execute(status -> book(bookings, dates, mode, errors)));
+
+        return toBatchResponse(mode, errors, booked);
+    }
+
+    /**
+     * Allocates and saves the bookings of a batch that passed validation.
+     *
+     * @param bookings The bookings of the batch.
+     * @param dates    The distinct dates of the bookings without errors, in date order.
+     * @param mode     The mode of the batch.
+     * @param errors   The errors of the bookings by position, the bookings that cannot be allocated are added to it.
+     * @return The responses of the booked appointments by position, null for bookings that were not booked.
+     */
+    private BookingResponse[] book(final List<BookingRequest> bookings, final List<LocalDate> dates,
+                                   final BatchBookingMode mode, final RuntimeException[] errors) {
+        // Serialize with other bookings of the same dates across instances, in date order to avoid deadlocks
+        final Map<LocalDate, BookingDay> bookingDays = new HashMap<>();
+        dates.forEach(date -> bookingDays.put(date, bookingDayLock.lock(date)));
+
+        // Get the current occupancy of every date and read all referenced entities once for the whole batch
+        final Map<LocalDate, DayOccupancy> days = new HashMap<>();
+        reservationMetrics.time(FLOW_BATCH_BOOKING, STAGE_AVAILABILITY, () -> bookingDays.forEach((date, bookingDay) ->
+                days.put(date, availabilityEngine.getDay(date, bookingDay.getRevision()))));
+        final Map<Long, Employee> mechanics = findMechanics(days.values().stream()
+                .flatMap(day -> day.getWorkingHours().stream())
+                .map(WorkingHoursInterval::employeeId)
+                .collect(Collectors.toSet()));
+        final Map<Long, GarageBox> garageBoxes = referenceData.getGarageBoxes();
+        final Map<Long, GarageOperation> operations = referenceData.findOperations(bookings.stream()
+                        .filter(booking -> booking != null && booking.getOperationIds() != null)
+                        .flatMap(booking -> booking.getOperationIds().stream())
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(GarageOperation::getId, Function.identity()));
+        final Map<Long, Customer> customers = customerRepository.findAllById(bookings.stream()
+                        .filter(Objects::nonNull)
+                        .map(BookingRequest::getCustomerId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+
+        // Allocate the bookings in request order, each one sees the appointments allocated before it
+        final GarageAppointment[] appointments = new GarageAppointment[bookings.size()];
+        reservationMetrics.time(FLOW_BATCH_BOOKING, STAGE_ALLOCATION, () -> {
+            for (int i = 0; i < bookings.size(); i++) {
+                if (errors[i] != null) {
+                    continue;
+                }
+
+                final BookingRequest booking = bookings.get(i);
+                try {
+                    final GarageAppointment appointment = allocate(booking, days.get(booking.getDate()),
+                            mechanics, garageBoxes, operations, customers);
+                    days.computeIfPresent(booking.getDate(), (date, day) -> day.withAppointment(appointment));
+                    appointments[i] = appointment;
+                } catch (final ProcessingError e) {
+                    errors[i] = e;
+                }
+            }
+        });
+
+        final BookingResponse[] booked = new BookingResponse[bookings.size()];
+        if (mode == BatchBookingMode.ALL_OR_NOTHING && Arrays.stream(errors).anyMatch(Objects::nonNull)) {
+            return booked;
+        }
+
+        // Save all appointments and the new revisions of their dates at once, the inserts are sent in JDBC batches when flushed
+        final List<LocalDate> revisedDates = Arrays.stream(appointments)
+                .filter(Objects::nonNull)
+                .map(GarageAppointment::getDate)
+                .distinct()
+                .toList();
+        revisedDates.forEach(date -> bookingDays.get(date).setRevision(bookingDays.get(date).getRevision() + 1));
+        final List<GarageAppointment> savedAppointments = reservationMetrics.time(FLOW_BATCH_BOOKING, STAGE_PERSIST,
+                () -> garageAppointmentRepository.saveAllAndFlush(
+                        Arrays.stream(appointments).filter(Objects::nonNull).toList()));
+        savedAppointments.forEach(appointment -> eventPublisher.publishEvent(new AppointmentBookedEvent(appointment)));
+        revisedDates.forEach(date -> eventPublisher.publishEvent(
+                new BookingDayRevisedEvent(date, bookingDays.get(date).getRevision())));
+
+        for (int i = 0; i < appointments.length; i++) {
+            if (appointments[i] != null) {
+                booked[i] = toResponse(appointments[i].getCustomer(), appointments[i]);
+            }
+        }
+        return booked;
+    }
+
+    private GarageAppointment allocate(final BookingRequest booking, final DayOccupancy day,
+                                       final Map<Long, Employee> mechanics, final Map<Long, GarageBox> garageBoxes,
+                                       final Map<Long, GarageOperation> operations, final Map<Long, Customer> customers) {
+        if (booking.getOperationIds() == null || booking.getOperationIds().isEmpty()) {
+            throw new ProcessingError(ErrorMessage.OPERATION_ID_IS_REQUIRED);
+        }
+        final List<GarageOperation> bookedOperations = booking.getOperationIds().stream()
+                .map(operations::get)
+                .toList();
+        if (bookedOperations.contains(null)) {
+            throw new ProcessingError(ErrorMessage.OPERATION_NOT_FOUND);
+        }
+
+        final Customer customer = customers.get(booking.getCustomerId());
+        if (customer == null) {
+            throw new ProcessingError(ErrorMessage.INVALID_CUSTOMER_ID);
+        }
+
+        final int from = toMinuteOfDay(booking.getStartTime());
+        final int to = toMinuteOfDay(booking.getEndTime());
+        final List<OperationAssignment> assignments = appointmentBuilder.assignMechanics(day, booking.getStartTime(), bookedOperations)
+                .orElseThrow(() -> new ProcessingError(ErrorMessage.NO_AVAILABLE_MECHANICS_FOR_THIS_OPERATION));
+        final Long garageBoxId = day.findBestFitBox(from, to)
+                .orElseThrow(() -> new ProcessingError(ErrorMessage.NO_AVAILABLE_GARAGE_BOXES));
+
+        return appointmentBuilder.buildAppointment(customer, booking.getDate(), booking.getStartTime(),
+                booking.getEndTime(), garageBoxes.get(garageBoxId), assignments, mechanics);
+    }
+
+    private Map<Long, Employee> findMechanics(final Collection<Long> employeeIds) {
+        return employeeRepository.findAllById(employeeIds).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+    }
+
+    private BatchBookingResponse toBatchResponse(final BatchBookingMode mode, final RuntimeException[] errors,
+                                                 final BookingResponse[] booked) {
+        final List<BatchBookingResponse.Result> results = new ArrayList<>();
+        for (int i = 0; i < errors.length; i++) {
+            final BatchBookingResponse.Result.ResultBuilder result = BatchBookingResponse.Result.builder().index(i);
+            if (booked[i] != null) {
+                result.status(BatchBookingResponse.Status.BOOKED).booking(booked[i]);
+            } else if (errors[i] != null) {
+                result.status(BatchBookingResponse.Status.REJECTED).error(errors[i].getMessage());
+                reservationMetrics.countFailure(FLOW_BATCH_BOOKING, errors[i]);
+            } else {
+                result.status(BatchBookingResponse.Status.NOT_BOOKED).error(ErrorMessage.BATCH_NOT_BOOKED.format());
+            }
+            results.add(result.build());
+        }
+
+        return BatchBookingResponse.builder()
+                .mode(mode)
+                .bookedCount((int) Arrays.stream(booked).filter(Objects::nonNull).count())
+                .results(results)
+                .build();
+    }
+
+    private BookingResponse toResponse(final Customer customer, final GarageAppointment savedAppointment) {
         return BookingResponse.builder()
                 .customer(customer)
                 .appointment(BookingResponse.GarageAppointment.builder()
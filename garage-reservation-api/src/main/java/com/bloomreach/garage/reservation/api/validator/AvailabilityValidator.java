@@ -36,12 +36,45 @@ public class AvailabilityValidator {
 
         final LocalDate maxDate = now.plusDays(reservationProperties.getMaxAdvanceDays());
         if (date.isAfter(maxDate)) {
-            throw new ValidationError(String.format(
-                    ErrorMessage.DATE_CANNOT_BE_MORE_THAN, reservationProperties.getMaxAdvanceDays()));
+            throw new ValidationError(ErrorMessage.DATE_CANNOT_BE_MORE_THAN, reservationProperties.getMaxAdvanceDays());
         }
 
         if (CollectionUtils.isEmpty(operationIds)) {
             throw new ValidationError(ErrorMessage.OPERATION_ID_IS_REQUIRED);
         }
     }
+
+    /**
+     * Validates that the given date range is ordered and that both of its ends are within the allowable range.
+     *
+     * @param from         The first date of the range.
+     * @param to           The last date of the range (inclusive).
+     * @param operationIds The list of operations.
+     * @throws ValidationError if the range is not ordered or not within the allowed range.
+     */
+    public void validateRange(final LocalDate from, final LocalDate to, final List<Long> operationIds) {
+        if (from.isAfter(to)) {
+            throw new ValidationError(ErrorMessage.FROM_DATE_CANNOT_BE_AFTER_TO_DATE);
+        }
+
+        validate(from, operationIds);
+        validate(to, operationIds);
+    }
+
+    /**
+     * Validates the parameters of an earliest available slots search.
+     *
+     * @param operationIds The list of operations.
+     * @param limit        The maximum number of slots to find.
+     * @throws ValidationError if no operation is given or the limit is not positive.
+     */
+    public void validateEarliest(final List<Long> operationIds, final int limit) {
+        if (CollectionUtils.isEmpty(operationIds)) {
+            throw new ValidationError(ErrorMessage.OPERATION_ID_IS_REQUIRED);
+        }
+
+        if (limit <= 0) {
+            throw new ValidationError(ErrorMessage.LIMIT_MUST_BE_POSITIVE);
+        }
+    }
 }
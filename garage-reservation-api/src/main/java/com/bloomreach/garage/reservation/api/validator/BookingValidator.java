@@ -1,7 +1,9 @@
 package com.bloomreach.garage.reservation.api.validator;
 
+import com.bloomreach.garage.reservation.api.component.ClosureCalendar;
 import com.bloomreach.garage.reservation.api.error.ErrorMessage;
 import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.model.BatchBookingRequest;
 import com.bloomreach.garage.reservation.api.model.BookingRequest;
 import com.bloomreach.garage.reservation.config.ReservationProperties;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +12,7 @@ import org.springframework.stereotype.Component;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Objects;
 
 /**
  * Validates booking requests based on the reservation properties.
@@ -19,30 +22,82 @@ import java.time.LocalTime;
 public class BookingValidator {
 
     private final ReservationProperties reservationProperties;
+    private final ClosureCalendar closureCalendar;
 
     /**
-     * Validates the booking request against the max-advance-days and min-advance-minutes constraints.
+     * Validates that the booking request has all required fields, then validates it against the
+     * max-advance-days and min-advance-minutes constraints and the closures of the garage.
      *
      * @param request The booking request to validate.
-     * @throws ValidationError if the request violates the defined constraints.
+     * @throws ValidationError if a required field is missing or the request violates the defined constraints.
      */
     public void validate(final BookingRequest request) {
+        validateRequiredFields(request);
+
         final LocalDate currentDate = LocalDate.now();
         final LocalTime currentTime = LocalTime.now();
 
         if (request.getDate().isAfter(currentDate.plusDays(reservationProperties.getMaxAdvanceDays()))) {
-            throw new ValidationError(String.format(ErrorMessage.BOOKING_CANNOT_BE_MADE_MORE_THAN,
-                    reservationProperties.getMaxAdvanceDays()));
+            throw new ValidationError(ErrorMessage.BOOKING_CANNOT_BE_MADE_MORE_THAN,
+                    reservationProperties.getMaxAdvanceDays());
         }
 
         if (request.getDate().isEqual(currentDate)) {
             final Duration durationBetweenNowAndBooking = Duration.between(currentTime, request.getStartTime());
             if (durationBetweenNowAndBooking.toMinutes() < reservationProperties.getMinAdvanceMinutes()) {
-                throw new ValidationError(String.format(ErrorMessage.BOOKING_MUST_BE_MADE_AT_LEAST,
-                        reservationProperties.getMinAdvanceMinutes()));
+                throw new ValidationError(ErrorMessage.BOOKING_MUST_BE_MADE_AT_LEAST,
+                        reservationProperties.getMinAdvanceMinutes());
             }
         } else if (request.getDate().isBefore(currentDate)) {
             throw new ValidationError(ErrorMessage.BOOKING_CANNOT_BE_MADE_FOR_A_PAST_DATE);
         }
+
+        if (closureCalendar.isClosed(request.getDate())) {
+            throw new ValidationError(ErrorMessage.GARAGE_IS_CLOSED_ON, request.getDate());
+        }
+    }
+
+    private void validateRequiredFields(final BookingRequest request) {
+        if (request == null) {
+            throw new ValidationError(ErrorMessage.BOOKING_IS_REQUIRED);
+        }
+
+        if (request.getOperationIds() == null || request.getOperationIds().isEmpty()
+                || request.getOperationIds().stream().anyMatch(Objects::isNull)) {
+            throw new ValidationError(ErrorMessage.OPERATION_ID_IS_REQUIRED);
+        }
+
+        if (request.getCustomerId() == null) {
+            throw new ValidationError(ErrorMessage.CUSTOMER_ID_IS_REQUIRED);
+        }
+
+        if (request.getDate() == null) {
+            throw new ValidationError(ErrorMessage.DATE_IS_REQUIRED);
+        }
+
+        if (request.getStartTime() == null) {
+            throw new ValidationError(ErrorMessage.START_TIME_IS_REQUIRED);
+        }
+
+        if (request.getEndTime() == null) {
+            throw new ValidationError(ErrorMessage.END_TIME_IS_REQUIRED);
+        }
+    }
+
+    /**
+     * Validates the size of a batch booking request. The bookings of the batch are validated individually.
+     *
+     * @param request The batch booking request to validate.
+     * @throws ValidationError if the batch is empty or larger than the max-batch-size.
+     */
+    public void validateBatch(final BatchBookingRequest request) {
+        if (request.getBookings() == null || request.getBookings().isEmpty()) {
+            throw new ValidationError(ErrorMessage.BATCH_MUST_CONTAIN_BOOKINGS);
+        }
+
+        if (request.getBookings().size() > reservationProperties.getMaxBatchSize()) {
+            throw new ValidationError(ErrorMessage.BATCH_CANNOT_CONTAIN_MORE_THAN,
+                    reservationProperties.getMaxBatchSize());
+        }
     }
 }
@@ -0,0 +1,125 @@
+package com.bloomreach.garage.reservation.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AvailabilityExecutorConfig {
+
+    public static final String AVAILABILITY_EXECUTOR = "availabilityExecutor";
+    public static final String AVAILABILITY_STREAM_EXECUTOR = "availabilityStreamExecutor";
+    public static final String AVAILABILITY_WARMUP_EXECUTOR = "availabilityWarmupExecutor";
+    public static final String AVAILABILITY_REFRESH_EXECUTOR = "availabilityRefreshExecutor";
+    public static final String AVAILABILITY_REFRESH_SCHEDULER = "availabilityRefreshScheduler";
+    public static final String AVAILABILITY_SYNC_SCHEDULER = "availabilitySyncScheduler";
+
+    /**
+     * Bounded executor computing the days of multi-day availability searches in parallel.
+     * <p>
+     * When all threads are busy and the queue is full, the requesting thread computes the day itself,
+     * which throttles callers instead of rejecting their requests.
+     * </p>
+     */
+    @Bean(name = AVAILABILITY_EXECUTOR)
+    public ThreadPoolTaskExecutor availabilityExecutor(final ReservationProperties reservationProperties) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(reservationProperties.getAvailabilityParallelism());
+        executor.setMaxPoolSize(reservationProperties.getAvailabilityParallelism());
+        executor.setQueueCapacity(reservationProperties.getMaxAdvanceDays() * reservationProperties.getAvailabilityParallelism());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("availability-");
+        return executor;
+    }
+
+    /**
+     * Executor recomputing the slots of the availability streams and sending their events to the subscribers.
+     * <p>
+     * Changes are only handed over to it, so the booking path never waits for a stream. Its tasks are coalesced
+     * per stream and per subscriber, and at most {@code stream-queue-capacity} of them are queued. Tasks beyond
+     * that are rejected, and the streams or subscribers they belong to are disconnected so their clients
+     * reconnect once the executor has caught up.
+     * </p>
+     */
+    @Bean(name = AVAILABILITY_STREAM_EXECUTOR)
+    public ThreadPoolTaskExecutor availabilityStreamExecutor(final ReservationProperties reservationProperties) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(reservationProperties.getStreamParallelism());
+        executor.setMaxPoolSize(reservationProperties.getStreamParallelism());
+        executor.setQueueCapacity(reservationProperties.getStreamQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("availability-stream-");
+        return executor;
+    }
+
+    /**
+     * Executor computing the entries of the available slots cache warm-up.
+     * <p>
+     * Its threads limit how many entries are computed at once, so a warm-up running while the instance
+     * already takes traffic does not starve the requests. At most the entries of one date are queued; when
+     * the queue is full, the warm-up thread queuing the entries computes the next one itself, which throttles
+     * the warm-up to the speed of the executor.
+     * </p>
+     */
+    @Bean(name = AVAILABILITY_WARMUP_EXECUTOR)
+    public ThreadPoolTaskExecutor availabilityWarmupExecutor(final ReservationProperties reservationProperties) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(reservationProperties.getWarmupParallelism());
+        executor.setMaxPoolSize(reservationProperties.getWarmupParallelism());
+        executor.setQueueCapacity(Math.max(1, reservationProperties.getWarmupCombinations()));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("availability-warmup-");
+        return executor;
+    }
+
+    /**
+     * Executor refreshing the cached available slots of the dates changed by bookings.
+     * <p>
+     * Refreshes are coalesced per date, so its queue holds at most one refresh per date of the booking window.
+     * A refresh that is rejected nevertheless evicts the cached slots of its date instead of refreshing them.
+     * </p>
+     */
+    @Bean(name = AVAILABILITY_REFRESH_EXECUTOR)
+    public ThreadPoolTaskExecutor availabilityRefreshExecutor(final ReservationProperties reservationProperties) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(reservationProperties.getRefreshParallelism());
+        executor.setMaxPoolSize(reservationProperties.getRefreshParallelism());
+        executor.setQueueCapacity(reservationProperties.getMaxAdvanceDays() + 1);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("availability-refresh-");
+        return executor;
+    }
+
+    /**
+     * Scheduler expiring the cached available slots of a date whose refresh did not complete in time.
+     * <p>
+     * Its single thread only evicts entries and bumps versions, so expiries are never delayed by slot
+     * computations. Each booking schedules one expiry, which is due within {@code refresh-max-staleness-millis}.
+     * </p>
+     */
+    @Bean(name = AVAILABILITY_REFRESH_SCHEDULER)
+    public ThreadPoolTaskScheduler availabilityRefreshScheduler() {
+        final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("availability-refresh-expiry-");
+        return scheduler;
+    }
+
+    /**
+     * Scheduler checking the database for bookings and changes committed by other instances.
+     * <p>
+     * Its single thread runs one check every {@code sync-interval-millis}, apart from the expiries of the
+     * refresh scheduler so that a slow check never delays them.
+     * </p>
+     */
+    @Bean(name = AVAILABILITY_SYNC_SCHEDULER)
+    public ThreadPoolTaskScheduler availabilitySyncScheduler() {
+        final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("availability-sync-");
+        return scheduler;
+    }
+}
@@ -1,5 +1,6 @@
 package com.bloomreach.garage.reservation.config;
 
+import com.bloomreach.garage.reservation.api.component.MechanicAssignmentStrategy;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -14,4 +15,24 @@ public class ReservationProperties {
     private int maxAdvanceDays;
     private int minAdvanceMinutes;
     private int defaultSlotDuration;
+    private int bookingLockStripes;
+    private int bookingLockTimeoutMillis;
+    private int availabilityParallelism;
+    private int maxBatchSize;
+    private MechanicAssignmentStrategy mechanicAssignment = MechanicAssignmentStrategy.BEST_FIT;
+    private int maxQueriesPerRequest;
+    private int streamParallelism;
+    private int streamBufferSize;
+    private int streamQueueCapacity;
+    private long streamTimeoutMillis;
+    private boolean warmupEnabled;
+    private int warmupCombinations;
+    private int warmupHistoryDays;
+    private int warmupParallelism;
+    private long warmupTimeoutMillis;
+    private int refreshParallelism;
+    private int refreshMaxEntries;
+    private long refreshMaxStalenessMillis;
+    private long singleFlightTimeoutMillis;
+    private long syncIntervalMillis;
 }
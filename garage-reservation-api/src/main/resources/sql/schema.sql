@@ -92,8 +92,11 @@ CREATE INDEX idx_phone_number ON customers(phone_number);
 CREATE INDEX idx_email ON customers(email);
 
 -- **Garage Appointments**
+-- Identifiers are allocated by the application in blocks of 50, which lets Hibernate batch the inserts
+CREATE SEQUENCE garage_appointments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE garage_appointments (
-    id INT PRIMARY KEY AUTO_INCREMENT,  -- Unique identifier for each appointment
+    id INT PRIMARY KEY,  -- Unique identifier for each appointment, taken from garage_appointments_seq
     customer_id INT NOT NULL,  -- Foreign key referencing customers table
     garage_box_id INT NOT NULL,  -- Foreign key referencing garage_boxes table
     `date` DATE NOT NULL,
@@ -113,8 +116,10 @@ CREATE INDEX idx_garage_box_id ON garage_appointments(garage_box_id);
 CREATE INDEX idx_date_start_time_end_time ON garage_appointments(`date`, start_time, end_time);
 
 -- **Garage Appointment Operations Join Table**
+CREATE SEQUENCE garage_appointment_operations_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE garage_appointment_operations (
-    id INT PRIMARY KEY AUTO_INCREMENT,  -- Unique identifier for each operation record
+    id INT PRIMARY KEY,  -- Unique identifier for each operation record, taken from garage_appointment_operations_seq
     appointment_id INT NOT NULL,  -- Foreign key referencing the garage_appointments table
     operation_id INT NOT NULL,  -- Foreign key referencing the garage_operations table
     employee_id INT NOT NULL,  -- Foreign key referencing the employees table
@@ -136,3 +141,9 @@ CREATE INDEX idx_operation_id ON garage_appointment_operations(operation_id);
 
 -- Composite index for queries filtering by employee, appointment, and time range
 CREATE INDEX idx_employee_appointment_date_time ON garage_appointment_operations(employee_id, appointment_id, start_time, end_time);
+
+-- **Booking Days**
+CREATE TABLE booking_days (
+    booking_date DATE PRIMARY KEY,  -- Bookable date, its row is locked while an appointment is booked for it
+    revision BIGINT DEFAULT 0 NOT NULL  -- Incremented with every change of the appointments of the date, tells instances whether their occupancy snapshot is current
+);
@@ -0,0 +1,139 @@
+package com.bloomreach.garage.reservation;
+
+import com.bloomreach.garage.reservation.api.component.AvailabilityEngine;
+import com.bloomreach.garage.reservation.api.component.AvailabilityRequestStatistics;
+import com.bloomreach.garage.reservation.api.component.ReferenceData;
+import com.bloomreach.garage.reservation.api.entity.Employee;
+import com.bloomreach.garage.reservation.api.entity.EmployeeWorkingHours;
+import com.bloomreach.garage.reservation.api.entity.GarageBox;
+import com.bloomreach.garage.reservation.api.model.BookingRequest;
+import com.bloomreach.garage.reservation.api.repository.EmployeeRepository;
+import com.bloomreach.garage.reservation.api.repository.EmployeeWorkingHoursRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageBoxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+/**
+ * Base class of the tests running against the application and the in-memory H2 database seeded by
+ * {@code data.sql}.
+ * <p>
+ * The slots cache, the warm-up and the checks for changes of other instances are disabled, so every
+ * availability search computes its slots. The appointments booked by a test, the mechanics and garage boxes
+ * it added, and the requests it counted for the warm-up are removed after it.
+ * </p>
+ * <p>
+ * All tests share one application context, with a {@code MockMvc} for the tests calling the REST API, because
+ * every context would initialize the same in-memory database again.
+ * </p>
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.cache.type=none",
+        "garage.reservation.warmup-enabled=false",
+        "garage.reservation.sync-interval-millis=0"
+})
+public abstract class AbstractIntegrationTest {
+
+    /**
+     * The seeded mechanics, customers and operations.
+     */
+    protected static final long MECHANIC_A = 1;
+    protected static final long MECHANIC_B = 2;
+    protected static final long SEEDED_EMPLOYEES = 3;
+    protected static final long SEEDED_GARAGE_BOXES = 2;
+    protected static final long CUSTOMER = 1;
+    protected static final long GENERAL_CHECK = 1;
+    protected static final long TIRE_REPLACEMENT = 2;
+    protected static final long BROKEN_LAMP_CHANGE = 3;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected ReferenceData referenceData;
+
+    @Autowired
+    protected AvailabilityEngine availabilityEngine;
+
+    @Autowired
+    private AvailabilityRequestStatistics availabilityRequestStatistics;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeWorkingHoursRepository employeeWorkingHoursRepository;
+
+    @Autowired
+    private GarageBoxRepository garageBoxRepository;
+
+    @AfterEach
+    void removeTestData() {
+        jdbcTemplate.update("DELETE FROM garage_appointment_operations");
+        jdbcTemplate.update("DELETE FROM garage_appointments");
+        jdbcTemplate.update("DELETE FROM booking_days");
+        jdbcTemplate.update("DELETE FROM employee_working_hours WHERE employee_id > ?", SEEDED_EMPLOYEES);
+        jdbcTemplate.update("DELETE FROM employees WHERE id > ?", SEEDED_EMPLOYEES);
+        jdbcTemplate.update("DELETE FROM garage_boxes WHERE id > ?", SEEDED_GARAGE_BOXES);
+        referenceData.refresh();
+        availabilityEngine.evictAll();
+        availabilityRequestStatistics.clear();
+    }
+
+    /**
+     * Adds mechanics working the whole day on the given day of the week, and as many garage boxes.
+     *
+     * @param count     The number of mechanics and garage boxes to add.
+     * @param dayOfWeek The day of the week the mechanics work.
+     */
+    protected void addMechanicsAndGarageBoxes(final int count, final DayOfWeek dayOfWeek) {
+        for (int i = 0; i < count; i++) {
+            final Employee mechanic = new Employee();
+            mechanic.setFullName("Test Mechanic " + i);
+            mechanic.setEmployeeTypeId("1");
+            employeeRepository.save(mechanic);
+
+            final EmployeeWorkingHours workingHours = new EmployeeWorkingHours();
+            workingHours.setEmployee(mechanic);
+            workingHours.setDayOfWeek(dayOfWeek);
+            workingHours.setStartTime(LocalTime.of(8, 0));
+            workingHours.setEndTime(LocalTime.of(17, 0));
+            employeeWorkingHoursRepository.save(workingHours);
+
+            final GarageBox garageBox = new GarageBox();
+            garageBox.setName("Test Box " + i);
+            garageBoxRepository.save(garageBox);
+        }
+
+        // Saved directly through the repositories, so the reference data and snapshots are not refreshed by the REST handlers
+        referenceData.refresh();
+        availabilityEngine.evictAll();
+    }
+
+    /**
+     * Returns the next Monday, on which both seeded mechanics work, always within the booking window.
+     */
+    protected static LocalDate nextMonday() {
+        return LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    protected static BookingRequest bookingRequest(final LocalDate date, final LocalTime startTime, final LocalTime endTime,
+                                                   final Long customerId, final List<Long> operationIds) {
+        final BookingRequest request = new BookingRequest();
+        request.setDate(date);
+        request.setStartTime(startTime);
+        request.setEndTime(endTime);
+        request.setCustomerId(customerId);
+        request.setOperationIds(operationIds);
+        return request;
+    }
+}
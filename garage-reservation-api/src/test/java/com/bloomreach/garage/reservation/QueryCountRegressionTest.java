@@ -0,0 +1,93 @@
+package com.bloomreach.garage.reservation;
+
+import com.bloomreach.garage.reservation.api.component.QueryCountListener;
+import com.bloomreach.garage.reservation.api.model.BookingRequest;
+import com.bloomreach.garage.reservation.api.service.AvailabilityService;
+import com.bloomreach.garage.reservation.api.service.BookingService;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the number of database statements of the availability search and the booking against N+1 regressions.
+ * <p>
+ * The statements are counted by the {@link QueryCountListener}, like for the {@code reservation.request.queries}
+ * metric, with a cold occupancy snapshot. Their number must stay within a fixed ceiling however many mechanics
+ * and existing bookings the date has. Loads happening once per process, such as the closures or the ID
+ * sequences, are done on another date first, so the ceilings only cover the work of a single request.
+ * </p>
+ */
+class QueryCountRegressionTest extends AbstractIntegrationTest {
+
+    /**
+     * Loading the booked intervals and operations of the date.
+     */
+    private static final int AVAILABLE_SLOTS_MAX_QUERIES = 2;
+
+    /**
+     * Locking the date, which creates its booking day on its first booking, loading the occupancy, the customer
+     * and the mechanics, and saving the appointment with its operations and the revision of the date.
+     */
+    private static final int BOOKING_MAX_QUERIES = 11;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @ParameterizedTest(name = "{0} additional mechanics, {1} existing bookings")
+    @CsvSource({"0, 0", "0, 20", "10, 0", "10, 40", "40, 120"})
+    void findAvailableSlotsRunsAFixedNumberOfQueries(final int additionalMechanics, final int existingBookings) {
+        final LocalDate date = nextMonday();
+        prepare(date, additionalMechanics, existingBookings);
+
+        QueryCountListener.start();
+        availabilityService.findAvailableSlots(date, List.of(TIRE_REPLACEMENT, BROKEN_LAMP_CHANGE));
+        final QueryCountListener.Statistics statistics = QueryCountListener.stop();
+
+        assertThat(statistics.queries()).isLessThanOrEqualTo(AVAILABLE_SLOTS_MAX_QUERIES);
+    }
+
+    @ParameterizedTest(name = "{0} additional mechanics, {1} existing bookings")
+    @CsvSource({"0, 0", "0, 20", "10, 0", "10, 40", "40, 120"})
+    void bookAppointmentRunsAFixedNumberOfQueries(final int additionalMechanics, final int existingBookings) {
+        final LocalDate date = nextMonday();
+        prepare(date, additionalMechanics, existingBookings);
+
+        QueryCountListener.start();
+        bookingService.bookAppointment(bookingRequest(date, LocalTime.of(16, 0), LocalTime.of(17, 0), CUSTOMER,
+                List.of(TIRE_REPLACEMENT)));
+        final QueryCountListener.Statistics statistics = QueryCountListener.stop();
+
+        assertThat(statistics.queries()).isLessThanOrEqualTo(BOOKING_MAX_QUERIES);
+    }
+
+    /**
+     * Adds the mechanics and books the appointments of 30 minutes between 8:00 and 16:00, then drops the
+     * occupancy snapshots so that the measured call loads the date from the database.
+     */
+    private void prepare(final LocalDate date, final int additionalMechanics, final int existingBookings) {
+        addMechanicsAndGarageBoxes(additionalMechanics, DayOfWeek.MONDAY);
+
+        final LocalDate otherDate = date.plusWeeks(1);
+        availabilityService.findAvailableSlots(otherDate, List.of(BROKEN_LAMP_CHANGE));
+        bookingService.bookAppointment(bookingRequest(otherDate, LocalTime.of(8, 0), LocalTime.of(8, 30), CUSTOMER,
+                List.of(BROKEN_LAMP_CHANGE)));
+
+        for (int i = 0; i < existingBookings; i++) {
+            final LocalTime startTime = LocalTime.of(8, 0).plusMinutes(30L * (i % 16));
+            final BookingRequest request = bookingRequest(date, startTime, startTime.plusMinutes(30), CUSTOMER,
+                    List.of(BROKEN_LAMP_CHANGE));
+            bookingService.bookAppointment(request);
+        }
+        availabilityEngine.evictAll();
+    }
+}
@@ -0,0 +1,115 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.entity.Customer;
+import com.bloomreach.garage.reservation.api.entity.Employee;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointmentOperation;
+import com.bloomreach.garage.reservation.api.entity.GarageBox;
+import com.bloomreach.garage.reservation.api.entity.GarageOperation;
+import com.bloomreach.garage.reservation.api.error.ProcessingError;
+import com.bloomreach.garage.reservation.api.projection.WorkingHoursInterval;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AppointmentBuilderTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+    private static final LocalTime START_TIME = LocalTime.of(9, 0);
+    private static final LocalTime END_TIME = LocalTime.of(13, 0);
+
+    private static final Map<Long, Employee> MECHANICS = Map.of(1L, employee(1L), 2L, employee(2L));
+    private static final List<GarageOperation> OPERATIONS = List.of(operation(2L, 60), operation(1L, 180));
+
+    @Test
+    void splitAppointmentEndsWithItsLastOperation() {
+        final GarageAppointment appointment = build(MechanicAssignmentStrategy.SPLIT);
+
+        assertThat(appointment.getStartTime()).isEqualTo(START_TIME);
+        assertThat(appointment.getEndTime()).isEqualTo(LocalTime.of(12, 0));
+        assertThat(appointment.getOperations())
+                .extracting(operation -> operation.getEmployee().getId(), GarageAppointmentOperation::getStartTime,
+                        GarageAppointmentOperation::getEndTime)
+                .containsExactly(
+                        tuple(2L, LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                        tuple(1L, LocalTime.of(9, 0), LocalTime.of(12, 0)));
+    }
+
+    @Test
+    void singleMechanicAppointmentKeepsTheRequestedEndTime() {
+        final GarageAppointment appointment = build(MechanicAssignmentStrategy.BEST_FIT);
+
+        assertThat(appointment.getEndTime()).isEqualTo(END_TIME);
+        assertThat(appointment.getOperations())
+                .extracting(GarageAppointmentOperation::getStartTime, GarageAppointmentOperation::getEndTime)
+                .containsExactly(
+                        tuple(LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                        tuple(LocalTime.of(10, 0), LocalTime.of(13, 0)));
+    }
+
+    @Test
+    void splitAppointmentNeverEndsAfterTheRequestedEndTime() {
+        final List<OperationAssignment> assignments = List.of(
+                new OperationAssignment(OPERATIONS.get(0), 1L, 540, 600),
+                new OperationAssignment(OPERATIONS.get(1), 2L, 540, 840));
+
+        final GarageAppointment appointment = appointmentBuilder(MechanicAssignmentStrategy.SPLIT).buildAppointment(
+                new Customer(), DATE, START_TIME, END_TIME, new GarageBox(), assignments, MECHANICS);
+
+        assertThat(appointment.getEndTime()).isEqualTo(END_TIME);
+    }
+
+    @Test
+    void buildAppointmentFailsWhenAnAssignedMechanicIsMissing() {
+        final List<OperationAssignment> assignments = List.of(new OperationAssignment(OPERATIONS.get(0), 3L, 540, 600));
+
+        assertThatThrownBy(() -> appointmentBuilder(MechanicAssignmentStrategy.BEST_FIT).buildAppointment(
+                new Customer(), DATE, START_TIME, END_TIME, new GarageBox(), assignments, MECHANICS))
+                .isInstanceOf(ProcessingError.class);
+    }
+
+    /**
+     * Assigns the operations at 9:00 with the given strategy, on a day on which both mechanics are free,
+     * and builds the appointment requested until 13:00.
+     */
+    private static GarageAppointment build(final MechanicAssignmentStrategy strategy) {
+        final AppointmentBuilder appointmentBuilder = appointmentBuilder(strategy);
+        final List<WorkingHoursInterval> workingHours = MECHANICS.keySet().stream().sorted()
+                .map(id -> new WorkingHoursInterval(id, DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(17, 0)))
+                .toList();
+        final DayOccupancy day = DayOccupancy.of(DATE, workingHours, List.of(1L), List.of(), List.of());
+
+        final List<OperationAssignment> assignments = appointmentBuilder.assignMechanics(day, START_TIME, OPERATIONS)
+                .orElseThrow();
+        return appointmentBuilder.buildAppointment(
+                new Customer(), DATE, START_TIME, END_TIME, new GarageBox(), assignments, MECHANICS);
+    }
+
+    private static AppointmentBuilder appointmentBuilder(final MechanicAssignmentStrategy strategy) {
+        final ReservationProperties properties = new ReservationProperties();
+        properties.setMechanicAssignment(strategy);
+        return new AppointmentBuilder(properties);
+    }
+
+    private static Employee employee(final Long id) {
+        final Employee employee = new Employee();
+        employee.setId(id);
+        return employee;
+    }
+
+    private static GarageOperation operation(final Long id, final int durationInMinutes) {
+        final GarageOperation operation = new GarageOperation();
+        operation.setId(id);
+        operation.setDurationInMinutes(durationInMinutes);
+        return operation;
+    }
+}
@@ -0,0 +1,81 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.AbstractIntegrationTest;
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import com.bloomreach.garage.reservation.api.service.AvailabilityService;
+import com.bloomreach.garage.reservation.api.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs with the slots cache of the application enabled, in a database of its own since the context differs from
+ * the other integration tests. No entry is refreshed in the background, so the entries of a booked date are
+ * evicted right after the booking commits.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:garage-cache-db;LOCK_TIMEOUT=10000",
+        "garage.reservation.warmup-enabled=false",
+        "garage.reservation.refresh-max-entries=0",
+        "garage.reservation.sync-interval-millis=0"
+})
+class AvailableSlotsCacheTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @AfterEach
+    void clearCache() {
+        cache().clear();
+    }
+
+    @Test
+    void bookingEvictsOnlyTheEntriesOfItsDate() {
+        final LocalDate monday = nextMonday();
+        final LocalDate tuesday = monday.plusDays(1);
+        final List<AvailableSlot> mondayTires = availabilityService.findAvailableSlots(monday, List.of(TIRE_REPLACEMENT));
+        availabilityService.findAvailableSlots(monday, List.of(BROKEN_LAMP_CHANGE));
+        final List<AvailableSlot> tuesdayTires = availabilityService.findAvailableSlots(tuesday, List.of(TIRE_REPLACEMENT));
+
+        assertThat(availabilityService.findAvailableSlots(monday, List.of(TIRE_REPLACEMENT))).isSameAs(mondayTires);
+        assertThat(cachedSlots(monday, BROKEN_LAMP_CHANGE)).isNotNull();
+
+        bookingService.bookAppointment(bookingRequest(
+                monday, LocalTime.of(8, 0), LocalTime.of(9, 0), CUSTOMER, List.of(TIRE_REPLACEMENT)));
+
+        assertThat(cachedSlots(monday, TIRE_REPLACEMENT)).isNull();
+        assertThat(cachedSlots(monday, BROKEN_LAMP_CHANGE)).isNull();
+        assertThat(cachedSlots(tuesday, TIRE_REPLACEMENT)).isSameAs(tuesdayTires);
+        assertThat(availabilityService.findAvailableSlots(tuesday, List.of(TIRE_REPLACEMENT))).isSameAs(tuesdayTires);
+
+        // The next lookup of the booked date computes its slots again and caches them
+        final List<AvailableSlot> bookedMondayTires =
+                availabilityService.findAvailableSlots(monday, List.of(TIRE_REPLACEMENT));
+        assertThat(bookedMondayTires).isNotSameAs(mondayTires);
+        assertThat(cachedSlots(monday, TIRE_REPLACEMENT)).isSameAs(bookedMondayTires);
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(AvailableSlotsCache.NAME);
+    }
+
+    private Object cachedSlots(final LocalDate date, final long operationId) {
+        final Cache.ValueWrapper value = cache().get(AvailableSlotsKey.of(date, List.of(operationId)));
+        return value == null ? null : value.get();
+    }
+}
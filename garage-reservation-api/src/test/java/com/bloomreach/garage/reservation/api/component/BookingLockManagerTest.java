@@ -0,0 +1,52 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingLockManagerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BookingLockManager bookingLockManager;
+
+    @BeforeEach
+    void setUp() {
+        final ReservationProperties properties = new ReservationProperties();
+        properties.setBookingLockStripes(64);
+        properties.setBookingLockTimeoutMillis(1000);
+        bookingLockManager = new BookingLockManager(properties, meterRegistry);
+    }
+
+    @Test
+    void withLockRecordsTheWaitTimePerDate() {
+        final LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+        final String result = bookingLockManager.withLock(tomorrow, () -> "booked");
+
+        assertThat(result).isEqualTo("booked");
+        assertThat(meterRegistry.get("reservation.booking.lock.wait").tag("date", tomorrow.toString()).timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void lockingANewDateRemovesTheMetersOfPastDates() {
+        final LocalDate yesterday = LocalDate.now().minusDays(1);
+        final LocalDate today = LocalDate.now();
+        bookingLockManager.withLock(yesterday, () -> null);
+        assertThat(meterRegistry.find("reservation.booking.lock.wait").tag("date", yesterday.toString()).timer())
+                .isNotNull();
+
+        bookingLockManager.withLocks(List.of(today), () -> null);
+
+        assertThat(meterRegistry.find("reservation.booking.lock.wait").tag("date", yesterday.toString()).timer())
+                .isNull();
+        assertThat(meterRegistry.find("reservation.booking.lock.wait").tag("date", today.toString()).timer())
+                .isNotNull();
+    }
+}
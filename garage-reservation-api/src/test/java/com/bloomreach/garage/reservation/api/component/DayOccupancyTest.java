@@ -0,0 +1,62 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.projection.BookedInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static com.bloomreach.garage.reservation.api.component.IntervalIndex.toMinuteOfDay;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DayOccupancyTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+
+    @Test
+    void findBestFitBoxPicksTheBoxWithTheTightestFreeTime() {
+        // Box 1 is free the whole day, box 2 from 9:00 to 11:00 and box 3 from 9:00 to 12:00
+        final DayOccupancy day = boxes(List.of(1L, 2L, 3L),
+                booking(2L, "00:00", "09:00"), booking(2L, "11:00", "23:59"),
+                booking(3L, "00:00", "09:00"), booking(3L, "12:00", "23:59"));
+
+        assertThat(day.findBestFitBox(minute("09:00"), minute("10:00"))).contains(2L);
+        assertThat(day.findBestFitBox(minute("10:00"), minute("11:30"))).contains(3L);
+        assertThat(day.findBestFitBox(minute("11:30"), minute("13:00"))).contains(1L);
+    }
+
+    @Test
+    void findBestFitBoxSkipsOccupiedBoxes() {
+        final DayOccupancy day = boxes(List.of(1L, 2L),
+                booking(1L, "09:00", "10:00"), booking(2L, "08:00", "09:30"));
+
+        assertThat(day.findBestFitBox(minute("09:30"), minute("10:00"))).contains(2L);
+        assertThat(day.findBestFitBox(minute("09:00"), minute("09:30"))).isEmpty();
+    }
+
+    @Test
+    void findBestFitBoxBreaksTiesByTheLowestId() {
+        final DayOccupancy day = boxes(List.of(3L, 2L, 1L),
+                booking(1L, "08:00", "09:00"), booking(2L, "08:00", "09:00"), booking(3L, "08:00", "09:00"));
+
+        assertThat(day.findBestFitBox(minute("09:00"), minute("10:00"))).contains(1L);
+    }
+
+    @Test
+    void findBestFitBoxIsEmptyWithoutBoxes() {
+        assertThat(boxes(List.of()).findBestFitBox(minute("09:00"), minute("10:00"))).isEmpty();
+    }
+
+    private static DayOccupancy boxes(final List<Long> garageBoxIds, final BookedInterval... bookings) {
+        return DayOccupancy.of(DATE, List.of(), garageBoxIds, List.of(bookings), List.of());
+    }
+
+    private static BookedInterval booking(final Long garageBoxId, final String startTime, final String endTime) {
+        return new BookedInterval(garageBoxId, DATE, LocalTime.parse(startTime), LocalTime.parse(endTime));
+    }
+
+    private static int minute(final String time) {
+        return toMinuteOfDay(LocalTime.parse(time));
+    }
+}
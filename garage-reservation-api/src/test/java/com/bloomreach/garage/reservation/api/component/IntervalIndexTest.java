@@ -0,0 +1,144 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.bloomreach.garage.reservation.api.component.IntervalIndex.MINUTES_PER_DAY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalIndexTest {
+
+    // Occupied 8:00-9:00, 9:30-10:00 and 12:00-13:00
+    private final IntervalIndex index = IntervalIndex.builder()
+            .add(570, 600)
+            .add(480, 540)
+            .add(720, 780)
+            .build();
+
+    @Test
+    void isFreeTreatsRangesAsHalfOpen() {
+        assertThat(index.isFree(540, 570)).isTrue();
+        assertThat(index.isFree(420, 480)).isTrue();
+        assertThat(index.isFree(600, 720)).isTrue();
+        assertThat(index.isFree(539, 570)).isFalse();
+        assertThat(index.isFree(540, 571)).isFalse();
+        assertThat(index.isFree(700, 800)).isFalse();
+        assertThat(index.isFree(400, 1000)).isFalse();
+    }
+
+    @Test
+    void isFreeAcceptsEmptyRanges() {
+        assertThat(index.isFree(500, 500)).isTrue();
+        assertThat(IntervalIndex.EMPTY.isFree(0, MINUTES_PER_DAY)).isTrue();
+    }
+
+    @Test
+    void builderMergesOverlappingAndTouchingRanges() {
+        final IntervalIndex merged = IntervalIndex.builder()
+                .add(480, 540)
+                .add(540, 570)
+                .add(500, 520)
+                .add(600, 600)
+                .build();
+
+        assertThat(merged.previousEnd(MINUTES_PER_DAY)).isEqualTo(570);
+        assertThat(merged.nextStart(0)).isEqualTo(480);
+        assertThat(merged.nextStart(481)).isEqualTo(MINUTES_PER_DAY);
+        assertThat(merged.occupiedMinutes(0, MINUTES_PER_DAY)).isEqualTo(90);
+    }
+
+    @Test
+    void nextFreeGapStartsAtTheGivenMinuteWhenItIsFree() {
+        assertThat(index.nextFreeGap(420, 60)).isEqualTo(420);
+        assertThat(index.nextFreeGap(540, 30)).isEqualTo(540);
+        assertThat(index.nextFreeGap(800, 60)).isEqualTo(800);
+    }
+
+    @Test
+    void nextFreeGapSkipsGapsThatAreTooShort() {
+        assertThat(index.nextFreeGap(450, 60)).isEqualTo(600);
+        assertThat(index.nextFreeGap(540, 31)).isEqualTo(600);
+        assertThat(index.nextFreeGap(480, 120)).isEqualTo(600);
+        assertThat(index.nextFreeGap(480, 121)).isEqualTo(780);
+        assertThat(index.nextFreeGap(730, 30)).isEqualTo(780);
+    }
+
+    @Test
+    void nextFreeGapReturnsMinusOneWhenTheDayHasNoRoomLeft() {
+        assertThat(index.nextFreeGap(780, MINUTES_PER_DAY - 779)).isEqualTo(-1);
+        assertThat(IntervalIndex.EMPTY.nextFreeGap(MINUTES_PER_DAY - 10, 11)).isEqualTo(-1);
+        assertThat(IntervalIndex.EMPTY.nextFreeGap(0, MINUTES_PER_DAY)).isZero();
+    }
+
+    @Test
+    void previousEndReturnsTheEndOfTheLastIntervalEndingAtOrBeforeTheMinute() {
+        assertThat(index.previousEnd(470)).isZero();
+        assertThat(index.previousEnd(540)).isEqualTo(540);
+        assertThat(index.previousEnd(560)).isEqualTo(540);
+        assertThat(index.previousEnd(750)).isEqualTo(600);
+        assertThat(index.previousEnd(MINUTES_PER_DAY)).isEqualTo(780);
+    }
+
+    @Test
+    void nextStartReturnsTheStartOfTheFirstIntervalStartingAtOrAfterTheMinute() {
+        assertThat(index.nextStart(0)).isEqualTo(480);
+        assertThat(index.nextStart(480)).isEqualTo(480);
+        assertThat(index.nextStart(481)).isEqualTo(570);
+        assertThat(index.nextStart(600)).isEqualTo(720);
+        assertThat(index.nextStart(721)).isEqualTo(MINUTES_PER_DAY);
+    }
+
+    @Test
+    void withReturnsAnUpdatedCopy() {
+        final IntervalIndex updated = index.with(540, 570);
+
+        assertThat(updated.isFree(540, 570)).isFalse();
+        assertThat(updated.nextStart(481)).isEqualTo(720);
+        assertThat(index.isFree(540, 570)).isTrue();
+    }
+
+    @Test
+    void matchesAMinuteByMinuteOccupancy() {
+        final Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            final boolean[] occupied = new boolean[MINUTES_PER_DAY];
+            final IntervalIndex.Builder builder = IntervalIndex.builder();
+            for (int i = random.nextInt(20); i > 0; i--) {
+                final int from = random.nextInt(MINUTES_PER_DAY);
+                final int to = Math.min(MINUTES_PER_DAY, from + 1 + random.nextInt(120));
+                builder.add(from, to);
+                for (int minute = from; minute < to; minute++) {
+                    occupied[minute] = true;
+                }
+            }
+            final IntervalIndex randomIndex = builder.build();
+
+            for (int probe = 0; probe < 50; probe++) {
+                final int from = random.nextInt(MINUTES_PER_DAY);
+                final int duration = 1 + random.nextInt(180);
+                final int to = Math.min(MINUTES_PER_DAY, from + duration);
+                assertThat(randomIndex.isFree(from, to)).isEqualTo(isFree(occupied, from, to));
+                assertThat(randomIndex.nextFreeGap(from, duration)).isEqualTo(nextFreeGap(occupied, from, duration));
+            }
+        }
+    }
+
+    private static boolean isFree(final boolean[] occupied, final int from, final int to) {
+        for (int minute = from; minute < to; minute++) {
+            if (occupied[minute]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int nextFreeGap(final boolean[] occupied, final int from, final int duration) {
+        for (int start = from; start + duration <= MINUTES_PER_DAY; start++) {
+            if (isFree(occupied, start, start + duration)) {
+                return start;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,159 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.entity.GarageOperation;
+import com.bloomreach.garage.reservation.api.projection.BookedInterval;
+import com.bloomreach.garage.reservation.api.projection.WorkingHoursInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.bloomreach.garage.reservation.api.component.IntervalIndex.toMinuteOfDay;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class MechanicAssignmentStrategyTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+
+    private static final GarageOperation GENERAL_CHECK = operation(1L, 180);
+    private static final GarageOperation TIRE_REPLACEMENT = operation(2L, 60);
+    private static final GarageOperation BROKEN_LAMP_CHANGE = operation(3L, 30);
+
+    private static final int NINE = minute("09:00");
+
+    /**
+     * Mechanics 1, 2 and 3 work from 8:00 to 17:00. Around 9:00, mechanic 1 is free from 8:00 to 10:00 and has
+     * 120 booked minutes, mechanic 2 is free from 9:00 to 10:30 and has 450 booked minutes, and mechanic 3 is free
+     * the whole day.
+     */
+    private final DayOccupancy day = day(List.of(1L, 2L, 3L),
+            booking(1L, "10:00", "12:00"),
+            booking(2L, "08:00", "09:00"), booking(2L, "10:30", "17:00"));
+
+    @Test
+    void firstAvailableTakesTheFirstFreeMechanic() {
+        assertThat(assignedMechanics(MechanicAssignmentStrategy.FIRST_AVAILABLE, TIRE_REPLACEMENT)).containsOnly(1L);
+    }
+
+    @Test
+    void leastLoadedTakesTheFreeMechanicWithTheFewestBookedMinutes() {
+        assertThat(assignedMechanics(MechanicAssignmentStrategy.LEAST_LOADED, TIRE_REPLACEMENT)).containsOnly(3L);
+    }
+
+    @Test
+    void bestFitTakesTheFreeMechanicWithTheShortestFreeTime() {
+        assertThat(assignedMechanics(MechanicAssignmentStrategy.BEST_FIT, TIRE_REPLACEMENT)).containsOnly(2L);
+    }
+
+    @Test
+    void bestFitBreaksTiesByTheBookedMinutes() {
+        // Mechanics 1 and 2 are both free from 9:00 to 10:00, mechanic 1 has more booked minutes
+        final DayOccupancy tie = day(List.of(1L, 2L),
+                booking(1L, "08:00", "09:00"), booking(1L, "10:00", "17:00"),
+                booking(2L, "08:30", "09:00"), booking(2L, "10:00", "11:00"), booking(2L, "12:00", "13:00"));
+
+        assertThat(MechanicAssignmentStrategy.BEST_FIT.assign(tie, NINE, List.of(TIRE_REPLACEMENT)))
+                .hasValueSatisfying(assignments -> assertThat(assignments)
+                        .extracting(OperationAssignment::employeeId)
+                        .containsOnly(2L));
+    }
+
+    @Test
+    void singleMechanicStrategiesPerformTheOperationsOneAfterTheOther() {
+        for (final MechanicAssignmentStrategy strategy : List.of(MechanicAssignmentStrategy.FIRST_AVAILABLE,
+                MechanicAssignmentStrategy.LEAST_LOADED, MechanicAssignmentStrategy.BEST_FIT)) {
+            assertThat(strategy.assign(day, NINE, List.of(BROKEN_LAMP_CHANGE, TIRE_REPLACEMENT)))
+                    .as(strategy.name())
+                    .hasValueSatisfying(assignments -> assertThat(assignments)
+                            .extracting(OperationAssignment::operation, OperationAssignment::from,
+                                    OperationAssignment::to)
+                            .containsExactly(
+                                    tuple(BROKEN_LAMP_CHANGE, NINE, NINE + 30),
+                                    tuple(TIRE_REPLACEMENT, NINE + 30, NINE + 90)));
+        }
+    }
+
+    @Test
+    void noStrategyAssignsOperationsOutsideTheWorkingHoursOrOverBookings() {
+        final DayOccupancy busy = day(List.of(1L), booking(1L, "09:30", "10:00"));
+
+        for (final MechanicAssignmentStrategy strategy : MechanicAssignmentStrategy.values()) {
+            assertThat(strategy.assign(busy, NINE, List.of(TIRE_REPLACEMENT))).as(strategy.name()).isEmpty();
+            assertThat(strategy.assign(busy, minute("16:30"), List.of(TIRE_REPLACEMENT))).as(strategy.name()).isEmpty();
+        }
+    }
+
+    @Test
+    void splitRunsTheOperationsInParallelWhenThatEndsEarlier() {
+        final DayOccupancy free = day(List.of(1L, 2L));
+
+        final Optional<List<OperationAssignment>> assignments = MechanicAssignmentStrategy.SPLIT.assign(
+                free, NINE, List.of(TIRE_REPLACEMENT, GENERAL_CHECK));
+
+        assertThat(assignments).hasValueSatisfying(split -> {
+            assertThat(split)
+                    .extracting(OperationAssignment::operation, OperationAssignment::employeeId,
+                            OperationAssignment::from, OperationAssignment::to)
+                    .containsExactly(
+                            tuple(TIRE_REPLACEMENT, 2L, NINE, NINE + 60),
+                            tuple(GENERAL_CHECK, 1L, NINE, NINE + 180));
+            assertThat(MechanicAssignmentStrategy.end(split)).isEqualTo(NINE + 180);
+        });
+    }
+
+    @Test
+    void splitAssignsTheOperationsWhenNoSingleMechanicIsFreeForAllOfThem() {
+        final DayOccupancy fragmented = day(List.of(1L, 2L),
+                booking(1L, "12:00", "17:00"), booking(2L, "10:00", "17:00"));
+
+        assertThat(MechanicAssignmentStrategy.BEST_FIT.assign(
+                fragmented, NINE, List.of(GENERAL_CHECK, TIRE_REPLACEMENT))).isEmpty();
+        assertThat(MechanicAssignmentStrategy.SPLIT.assign(fragmented, NINE, List.of(GENERAL_CHECK, TIRE_REPLACEMENT)))
+                .hasValueSatisfying(split -> assertThat(split)
+                        .extracting(OperationAssignment::employeeId)
+                        .containsExactly(1L, 2L));
+    }
+
+    @Test
+    void splitKeepsASingleMechanicWhenRunningInParallelDoesNotEndEarlier() {
+        // Mechanic 2 is booked the whole day, so the operations can only follow each other on mechanic 1
+        final DayOccupancy busy = day(List.of(1L, 2L), booking(2L, "08:00", "17:00"));
+
+        assertThat(MechanicAssignmentStrategy.SPLIT.assign(busy, NINE, List.of(TIRE_REPLACEMENT, BROKEN_LAMP_CHANGE)))
+                .hasValueSatisfying(assignments -> assertThat(assignments)
+                        .extracting(OperationAssignment::employeeId)
+                        .containsOnly(1L));
+    }
+
+    private List<Long> assignedMechanics(final MechanicAssignmentStrategy strategy, final GarageOperation operation) {
+        return strategy.assign(day, NINE, List.of(operation)).orElseThrow().stream()
+                .map(OperationAssignment::employeeId)
+                .toList();
+    }
+
+    private static DayOccupancy day(final List<Long> employeeIds, final BookedInterval... bookings) {
+        final List<WorkingHoursInterval> workingHours = employeeIds.stream()
+                .map(id -> new WorkingHoursInterval(id, DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(17, 0)))
+                .toList();
+        return DayOccupancy.of(DATE, workingHours, List.of(1L), List.of(), List.of(bookings));
+    }
+
+    private static BookedInterval booking(final Long employeeId, final String startTime, final String endTime) {
+        return new BookedInterval(employeeId, DATE, LocalTime.parse(startTime), LocalTime.parse(endTime));
+    }
+
+    private static GarageOperation operation(final Long id, final int durationInMinutes) {
+        final GarageOperation operation = new GarageOperation();
+        operation.setId(id);
+        operation.setDurationInMinutes(durationInMinutes);
+        return operation;
+    }
+
+    private static int minute(final String time) {
+        return toMinuteOfDay(LocalTime.parse(time));
+    }
+}
@@ -0,0 +1,46 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.error.ProcessingError;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReservationMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReservationMetrics reservationMetrics = new ReservationMetrics(meterRegistry);
+
+    @Test
+    void countFailureTagsFormattedMessagesWithTheirErrorMessage() {
+        reservationMetrics.countFailure(ReservationMetrics.FLOW_BOOKING,
+                new ValidationError(ErrorMessage.GARAGE_IS_CLOSED_ON, LocalDate.of(2030, 1, 1)));
+        reservationMetrics.countFailure(ReservationMetrics.FLOW_BOOKING,
+                new ValidationError(ErrorMessage.GARAGE_IS_CLOSED_ON, LocalDate.of(2030, 1, 2)));
+
+        assertThat(failures(ReservationMetrics.FLOW_BOOKING, "GARAGE_IS_CLOSED_ON")).isEqualTo(2);
+    }
+
+    @Test
+    void countFailureTagsProcessingErrorsWithTheirErrorMessage() {
+        reservationMetrics.countFailure(ReservationMetrics.FLOW_BATCH_BOOKING,
+                new ProcessingError(ErrorMessage.NO_AVAILABLE_GARAGE_BOXES));
+
+        assertThat(failures(ReservationMetrics.FLOW_BATCH_BOOKING, "NO_AVAILABLE_GARAGE_BOXES")).isEqualTo(1);
+    }
+
+    @Test
+    void countFailureTagsOtherExceptionsWithTheirType() {
+        reservationMetrics.countFailure(ReservationMetrics.FLOW_BOOKING, new IllegalStateException("Unexpected"));
+
+        assertThat(failures(ReservationMetrics.FLOW_BOOKING, "IllegalStateException")).isEqualTo(1);
+    }
+
+    private double failures(final String flow, final String reason) {
+        return meterRegistry.get("reservation.booking.failures").tag("flow", flow).tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,132 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.component.SingleFlight.Outcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private final List<Outcome> outcomes = new CopyOnWriteArrayList<>();
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>(outcomes::add);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicReference<Thread> follower = new AtomicReference<>();
+
+    @AfterEach
+    void shutDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareTheComputedValue() throws Exception {
+        final AtomicInteger computations = new AtomicInteger();
+        final Future<String> leader = executor.submit(() -> singleFlight.execute("key", TIMEOUT_MILLIS,
+                blockingComputation(() -> "value-" + computations.incrementAndGet())));
+        final Future<String> shared = followWhenWaiting(TIMEOUT_MILLIS,
+                () -> "value-" + computations.incrementAndGet());
+
+        release.countDown();
+
+        assertThat(leader.get()).isEqualTo("value-1");
+        assertThat(shared.get()).isEqualTo("value-1");
+        assertThat(computations).hasValue(1);
+        assertThat(outcomes).containsExactlyInAnyOrder(Outcome.COMPUTED, Outcome.SHARED);
+    }
+
+    @Test
+    void concurrentCallersShareTheException() throws Exception {
+        final IllegalStateException failure = new IllegalStateException("Computation failed");
+        final Future<String> leader = executor.submit(() -> singleFlight.execute("key", TIMEOUT_MILLIS,
+                blockingComputation(() -> {
+                    throw failure;
+                })));
+        final Future<String> shared = followWhenWaiting(TIMEOUT_MILLIS, () -> "value");
+
+        release.countDown();
+
+        assertThatThrownBy(leader::get).hasCause(failure);
+        assertThatThrownBy(shared::get).hasCause(failure);
+        assertThat(outcomes).containsExactly(Outcome.SHARED);
+    }
+
+    @Test
+    void waitingCallerComputesTheValueItselfAfterTheTimeout() throws Exception {
+        final Future<String> leader = executor.submit(() -> singleFlight.execute("key", TIMEOUT_MILLIS,
+                blockingComputation(() -> "leader")));
+        started.await();
+
+        assertThat(singleFlight.execute("key", 50, () -> "own")).isEqualTo("own");
+        assertThat(outcomes).containsExactly(Outcome.TIMED_OUT);
+
+        release.countDown();
+        assertThat(leader.get()).isEqualTo("leader");
+    }
+
+    @Test
+    void callersOfOtherKeysOrLaterCallersComputeTheirOwnValue() throws Exception {
+        final Future<String> leader = executor.submit(() -> singleFlight.execute("key", TIMEOUT_MILLIS,
+                blockingComputation(() -> "leader")));
+        started.await();
+
+        assertThat(singleFlight.execute("other", TIMEOUT_MILLIS, () -> "other")).isEqualTo("other");
+
+        release.countDown();
+        assertThat(leader.get()).isEqualTo("leader");
+        assertThat(singleFlight.execute("key", TIMEOUT_MILLIS, () -> "later")).isEqualTo("later");
+        assertThat(outcomes).containsExactly(Outcome.COMPUTED, Outcome.COMPUTED, Outcome.COMPUTED);
+    }
+
+    /**
+     * Wraps the computation so that it signals its start and then waits until the test releases it.
+     */
+    private Supplier<String> blockingComputation(final Supplier<String> computation) {
+        return () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return computation.get();
+        };
+    }
+
+    /**
+     * Calls the single flight once the leader has started and returns only when the caller waits for it.
+     */
+    private Future<String> followWhenWaiting(final long timeoutMillis, final Supplier<String> computation)
+            throws InterruptedException {
+        started.await();
+        final CompletableFuture<String> result = CompletableFuture.supplyAsync(() -> {
+            follower.set(Thread.currentThread());
+            return singleFlight.execute("key", timeoutMillis, computation);
+        }, executor);
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (follower.get() == null || follower.get().getState() != Thread.State.TIMED_WAITING) {
+            assertThat(System.nanoTime()).as("Follower waiting").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,86 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.List;
+
+import static com.bloomreach.garage.reservation.api.component.IntervalIndex.toMinuteOfDay;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlotTemplateTest {
+
+    private static final int WORK_START = toMinuteOfDay(LocalTime.of(8, 0));
+    private static final int WORK_END = toMinuteOfDay(LocalTime.of(17, 0));
+
+    private SlotCalculator slotCalculator;
+
+    @BeforeEach
+    void setUp() {
+        final ReservationProperties properties = new ReservationProperties();
+        properties.setDefaultSlotDuration(30);
+        slotCalculator = new SlotCalculator(properties);
+    }
+
+    @Test
+    void slotsStartEveryStepAndEndBeforeTheEndOfTheWorkingHours() {
+        assertThat(starts(slotCalculator.template(WORK_START, WORK_END, 60)))
+                .hasSize(17)
+                .startsWith(LocalTime.of(8, 0), LocalTime.of(8, 30))
+                .endsWith(LocalTime.of(16, 0));
+        assertThat(starts(slotCalculator.template(WORK_START, WORK_END, 180)))
+                .hasSize(13)
+                .endsWith(LocalTime.of(14, 0));
+    }
+
+    @Test
+    void slotsStartAtLeastOneStepBeforeTheEndOfTheWorkingHours() {
+        assertThat(starts(slotCalculator.template(WORK_START, WORK_END, 30)))
+                .hasSize(17)
+                .endsWith(LocalTime.of(16, 0));
+    }
+
+    @Test
+    void durationsLongerThanTheWorkingHoursHaveNoSlots() {
+        assertThat(starts(slotCalculator.template(WORK_START, WORK_END, WORK_END - WORK_START + 1))).isEmpty();
+    }
+
+    @Test
+    void containsMatchesTheSlotStarts() {
+        final SlotTemplate template = slotCalculator.template(WORK_START, WORK_END, 60);
+
+        assertThat(template.contains(WORK_START)).isTrue();
+        assertThat(template.contains(WORK_START + 30)).isTrue();
+        assertThat(template.contains(WORK_START + 15)).isFalse();
+        assertThat(template.contains(WORK_END - 30)).isFalse();
+    }
+
+    @Test
+    void addToKeepsTheSlotsAlreadyInTheSet() {
+        final BitSet slotStarts = new BitSet();
+        slotStarts.set(toMinuteOfDay(LocalTime.of(7, 0)));
+
+        slotCalculator.template(WORK_START, WORK_END, 180).addTo(slotStarts);
+
+        assertThat(slotStarts.cardinality()).isEqualTo(14);
+        assertThat(slotStarts.get(toMinuteOfDay(LocalTime.of(7, 0)))).isTrue();
+    }
+
+    @Test
+    void templatesAreSharedPerWorkingHoursAndDuration() {
+        final SlotTemplate template = slotCalculator.template(WORK_START, WORK_END, 60);
+
+        assertThat(slotCalculator.template(WORK_START, WORK_END, 60)).isSameAs(template);
+        assertThat(slotCalculator.template(WORK_START, WORK_END, 90)).isNotSameAs(template);
+        assertThat(slotCalculator.template(WORK_START + 60, WORK_END, 60)).isNotSameAs(template);
+    }
+
+    private static List<LocalTime> starts(final SlotTemplate template) {
+        final BitSet slotStarts = new BitSet();
+        template.addTo(slotStarts);
+        return slotStarts.stream().mapToObj(IntervalIndex::toLocalTime).toList();
+    }
+}
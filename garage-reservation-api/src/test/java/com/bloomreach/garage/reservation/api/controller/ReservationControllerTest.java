@@ -0,0 +1,122 @@
+package com.bloomreach.garage.reservation.api.controller;
+
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import com.bloomreach.garage.reservation.api.model.DailyAvailableSlots;
+import com.bloomreach.garage.reservation.api.service.AvailabilityService;
+import com.bloomreach.garage.reservation.api.service.AvailabilityStreamService;
+import com.bloomreach.garage.reservation.api.service.BookingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ReservationControllerTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+    private static final List<Long> OPERATION_IDS = List.of(1L, 2L);
+    private static final String ETAG = "\"1-2\"";
+
+    private AvailabilityService availabilityService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        availabilityService = mock(AvailabilityService.class);
+        when(availabilityService.findAvailableSlotsETag(DATE, OPERATION_IDS)).thenReturn(ETAG);
+        when(availabilityService.findAvailableSlots(DATE, OPERATION_IDS))
+                .thenReturn(List.of(new AvailableSlot(LocalTime.of(9, 0), LocalTime.of(13, 0))));
+
+        // Dates are written as ISO strings, like by the application's object mapper
+        mockMvc = MockMvcBuilders.standaloneSetup(new ReservationController(
+                        availabilityService, mock(AvailabilityStreamService.class), mock(BookingService.class)))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json()
+                        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                        .build()))
+                .build();
+    }
+
+    @Test
+    void rangeReturnsTheSlotsOfEveryDateInOrder() throws Exception {
+        when(availabilityService.findAvailableSlots(DATE, DATE.plusDays(1), OPERATION_IDS)).thenReturn(List.of(
+                new DailyAvailableSlots(DATE, List.of(new AvailableSlot(LocalTime.of(9, 0), LocalTime.of(13, 0)))),
+                new DailyAvailableSlots(DATE.plusDays(1), List.of())));
+
+        mockMvc.perform(get("/reservations/availableSlots/range")
+                        .param("from", DATE.toString())
+                        .param("to", DATE.plusDays(1).toString())
+                        .param("operationIds", "1", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].date").value(DATE.toString()))
+                .andExpect(jsonPath("$[0].slots.length()").value(1))
+                .andExpect(jsonPath("$[1].date").value(DATE.plusDays(1).toString()))
+                .andExpect(jsonPath("$[1].slots.length()").value(0));
+    }
+
+    @Test
+    void rangeOutsideOfTheBookingWindowIsABadRequest() throws Exception {
+        when(availabilityService.findAvailableSlots(DATE, DATE.plusDays(30), OPERATION_IDS))
+                .thenThrow(new ValidationError(ErrorMessage.DATE_CANNOT_BE_MORE_THAN, 14));
+
+        mockMvc.perform(get("/reservations/availableSlots/range")
+                        .param("from", DATE.toString())
+                        .param("to", DATE.plusDays(30).toString())
+                        .param("operationIds", "1", "2"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void availableSlotsCarryTheETagOfTheDate() throws Exception {
+        mockMvc.perform(get("/reservations/availableSlots")
+                        .param("date", DATE.toString())
+                        .param("operationIds", "1", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void matchingETagIsAnsweredWithNotModifiedWithoutComputingTheSlots() throws Exception {
+        mockMvc.perform(get("/reservations/availableSlots")
+                        .param("date", DATE.toString())
+                        .param("operationIds", "1", "2")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().string(""));
+
+        verify(availabilityService, never()).findAvailableSlots(any(LocalDate.class), any());
+    }
+
+    @Test
+    void staleETagIsAnsweredWithTheSlots() throws Exception {
+        mockMvc.perform(get("/reservations/availableSlots")
+                        .param("date", DATE.toString())
+                        .param("operationIds", "1", "2")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+}
@@ -0,0 +1,144 @@
+package com.bloomreach.garage.reservation.api.event;
+
+import com.bloomreach.garage.reservation.AbstractIntegrationTest;
+import com.bloomreach.garage.reservation.api.component.ClosureCalendar;
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Closes dates through the REST repository and checks that the slot, range and earliest searches skip them and
+ * that bookings on them are rejected, without the {@link ClosureCalendar} or availability versions going stale.
+ */
+class ClosureRepositoryEventHandlerTest extends AbstractIntegrationTest {
+
+    private static final long PUBLIC_HOLIDAY = 1;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClosureCalendar closureCalendar;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @AfterEach
+    void removeClosures() {
+        // The seeded closures are all in the past
+        jdbcTemplate.update("DELETE FROM garage_closures WHERE closure_date >= ?", LocalDate.now());
+        closureCalendar.refresh();
+    }
+
+    @Test
+    void closedDateHasNoAvailableSlotsAndANewETag() throws Exception {
+        final LocalDate date = nextMonday();
+        final String eTag = findAvailableSlots(date)
+                .andExpect(jsonPath("$").isNotEmpty())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        final String closure = close(date);
+
+        final String closedETag = findAvailableSlots(date)
+                .andExpect(jsonPath("$.length()").value(0))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(closedETag).isNotEqualTo(eTag);
+
+        // Reopening the date brings its slots back
+        mockMvc.perform(delete(closure)).andExpect(status().is2xxSuccessful());
+
+        final String reopenedETag = findAvailableSlots(date)
+                .andExpect(jsonPath("$").isNotEmpty())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(reopenedETag).isNotIn(eTag, closedETag);
+    }
+
+    @Test
+    void rangeSearchReturnsNoSlotsForClosedDates() throws Exception {
+        final LocalDate date = nextMonday();
+        close(date);
+
+        mockMvc.perform(get("/reservations/availableSlots/range")
+                        .param("from", date.toString())
+                        .param("to", date.plusDays(1).toString())
+                        .param("operationIds", String.valueOf(TIRE_REPLACEMENT)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].date").value(date.toString()))
+                .andExpect(jsonPath("$[0].slots.length()").value(0))
+                .andExpect(jsonPath("$[1].date").value(date.plusDays(1).toString()))
+                .andExpect(jsonPath("$[1].slots").isNotEmpty());
+    }
+
+    @Test
+    void earliestSearchSkipsClosedDates() throws Exception {
+        final LocalDate monday = nextMonday();
+        for (LocalDate date = LocalDate.now(); date.isBefore(monday); date = date.plusDays(1)) {
+            close(date);
+        }
+
+        findEarliestSlot().andExpect(jsonPath("$[0].date").value(monday.toString()));
+
+        close(monday);
+
+        findEarliestSlot().andExpect(jsonPath("$[0].date").value(monday.plusDays(1).toString()));
+    }
+
+    @Test
+    void bookingOnAClosedDateIsRejected() throws Exception {
+        final LocalDate date = nextMonday();
+        close(date);
+
+        assertThatThrownBy(() -> bookingService.bookAppointment(bookingRequest(
+                date, LocalTime.of(9, 0), LocalTime.of(10, 0), CUSTOMER, List.of(TIRE_REPLACEMENT))))
+                .isInstanceOfSatisfying(ValidationError.class, error -> assertThat(error.getReason())
+                        .isEqualTo(ErrorMessage.GARAGE_IS_CLOSED_ON));
+    }
+
+    /**
+     * Closes the garage on the date and returns the location of the closure.
+     */
+    private String close(final LocalDate date) throws Exception {
+        return mockMvc.perform(post("/garageClosures")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"closureDate": "%s", "closureType": "/garageClosureTypes/%d"}
+                                """.formatted(date, PUBLIC_HOLIDAY)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+    }
+
+    private ResultActions findAvailableSlots(final LocalDate date) throws Exception {
+        return mockMvc.perform(get("/reservations/availableSlots")
+                        .param("date", date.toString())
+                        .param("operationIds", String.valueOf(TIRE_REPLACEMENT)))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions findEarliestSlot() throws Exception {
+        return mockMvc.perform(get("/reservations/availableSlots/earliest")
+                        .param("operationIds", String.valueOf(TIRE_REPLACEMENT))
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+}
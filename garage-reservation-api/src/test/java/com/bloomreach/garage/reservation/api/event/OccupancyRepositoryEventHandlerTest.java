@@ -0,0 +1,97 @@
+package com.bloomreach.garage.reservation.api.event;
+
+import com.bloomreach.garage.reservation.AbstractIntegrationTest;
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.error.ProcessingError;
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import com.bloomreach.garage.reservation.api.model.BookingResponse;
+import com.bloomreach.garage.reservation.api.service.AvailabilityService;
+import com.bloomreach.garage.reservation.api.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Changes the reference data through the REST repositories and checks that the next slot lookup and the next
+ * booking use the reloaded {@link com.bloomreach.garage.reservation.api.component.ReferenceData} rather than
+ * the snapshots taken before the change.
+ */
+class OccupancyRepositoryEventHandlerTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @AfterEach
+    void restoreReferenceData() {
+        jdbcTemplate.update("UPDATE garage_operations SET duration_in_minutes = 60 WHERE id = ?", TIRE_REPLACEMENT);
+        jdbcTemplate.update("UPDATE employee_working_hours SET start_time = '08:00:00' WHERE day_of_week = 'MONDAY'");
+    }
+
+    @Test
+    void changedOperationDurationIsUsedByTheNextSlotLookupAndBooking() throws Exception {
+        final LocalDate date = nextMonday();
+        assertThat(availabilityService.findAvailableSlots(date, List.of(TIRE_REPLACEMENT)))
+                .first()
+                .isEqualTo(new AvailableSlot(LocalTime.of(8, 0), LocalTime.of(9, 0)));
+
+        mockMvc.perform(patch("/garageOperations/{id}", TIRE_REPLACEMENT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"durationInMinutes\": 90}"))
+                .andExpect(status().is2xxSuccessful());
+
+        assertThat(availabilityService.findAvailableSlots(date, List.of(TIRE_REPLACEMENT)))
+                .first()
+                .isEqualTo(new AvailableSlot(LocalTime.of(8, 0), LocalTime.of(9, 30)));
+
+        final BookingResponse booking = bookingService.bookAppointment(bookingRequest(
+                date, LocalTime.of(8, 0), LocalTime.of(9, 30), CUSTOMER, List.of(TIRE_REPLACEMENT)));
+        assertThat(booking.getOperations())
+                .extracting(BookingResponse.GarageAppointmentOperation::getEndTime)
+                .containsExactly(LocalTime.of(9, 30));
+    }
+
+    @Test
+    void changedWorkingHoursAreUsedByTheNextSlotLookupAndBooking() throws Exception {
+        final LocalDate date = nextMonday();
+        assertThat(availabilityService.findAvailableSlots(date, List.of(TIRE_REPLACEMENT)))
+                .first()
+                .extracting(AvailableSlot::getStartTime)
+                .isEqualTo(LocalTime.of(8, 0));
+
+        for (final Long id : jdbcTemplate.queryForList(
+                "SELECT id FROM employee_working_hours WHERE day_of_week = 'MONDAY'", Long.class)) {
+            mockMvc.perform(patch("/employeeWorkingHours/{id}", id)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"startTime\": \"12:00:00\"}"))
+                    .andExpect(status().is2xxSuccessful());
+        }
+
+        assertThat(availabilityService.findAvailableSlots(date, List.of(TIRE_REPLACEMENT)))
+                .first()
+                .extracting(AvailableSlot::getStartTime)
+                .isEqualTo(LocalTime.of(12, 0));
+        assertThatThrownBy(() -> bookingService.bookAppointment(bookingRequest(
+                date, LocalTime.of(9, 0), LocalTime.of(10, 0), CUSTOMER, List.of(TIRE_REPLACEMENT))))
+                .isInstanceOfSatisfying(ProcessingError.class, error -> assertThat(error.getReason())
+                        .isEqualTo(ErrorMessage.NO_AVAILABLE_MECHANICS_FOR_THIS_TIME_SLOT));
+        bookingService.bookAppointment(bookingRequest(
+                date, LocalTime.of(12, 0), LocalTime.of(13, 0), CUSTOMER, List.of(TIRE_REPLACEMENT)));
+    }
+}
@@ -0,0 +1,233 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.api.component.AvailabilityRequestStatistics;
+import com.bloomreach.garage.reservation.api.component.AvailabilityVersions;
+import com.bloomreach.garage.reservation.api.component.AvailableSlotsCache;
+import com.bloomreach.garage.reservation.api.component.AvailableSlotsKey;
+import com.bloomreach.garage.reservation.api.event.BookingDayRevisedEvent;
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AvailabilityRefreshServiceTest {
+
+    private static final long MAX_STALENESS_MILLIS = 30_000;
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2030-01-01T08:00:00Z"), ZoneOffset.UTC);
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+    private static final LocalDate OTHER_DATE = DATE.plusDays(1);
+    private static final AvailableSlotsKey TIRES = AvailableSlotsKey.of(DATE, List.of(2L));
+    private static final AvailableSlotsKey LAMPS = AvailableSlotsKey.of(DATE, List.of(3L));
+    private static final AvailableSlotsKey CHECK = AvailableSlotsKey.of(DATE, List.of(1L));
+    private static final AvailableSlotsKey OTHER_DATE_TIRES = AvailableSlotsKey.of(OTHER_DATE, List.of(2L));
+
+    private static final List<AvailableSlot> STALE = List.of(new AvailableSlot(LocalTime.of(8, 0), LocalTime.of(9, 0)));
+    private static final List<AvailableSlot> FRESH = List.of(new AvailableSlot(LocalTime.of(9, 0), LocalTime.of(10, 0)));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager(AvailableSlotsCache.NAME);
+    private final AvailabilityVersions availabilityVersions = new AvailabilityVersions(mock(ApplicationEventPublisher.class));
+    private final AvailabilityRequestStatistics availabilityRequestStatistics = new AvailabilityRequestStatistics();
+    private final AvailabilityService availabilityService = mock(AvailabilityService.class);
+    private final TaskScheduler expiryScheduler = mock(TaskScheduler.class);
+    private final ManualExecutor refreshExecutor = new ManualExecutor();
+
+    private AvailabilityRefreshService availabilityRefreshService;
+
+    @BeforeEach
+    void setUp() {
+        final ReservationProperties properties = new ReservationProperties();
+        properties.setRefreshMaxEntries(2);
+        properties.setRefreshMaxStalenessMillis(MAX_STALENESS_MILLIS);
+
+        // Like the @CachePut of the service, a refresh replaces the cached entry
+        when(availabilityService.refreshAvailableSlots(any(), any())).thenAnswer(invocation -> {
+            cache().put(AvailableSlotsKey.of(invocation.getArgument(0), invocation.getArgument(1)), FRESH);
+            return FRESH;
+        });
+        when(expiryScheduler.getClock()).thenReturn(CLOCK);
+
+        availabilityRefreshService = new AvailabilityRefreshService(availabilityService,
+                new AvailableSlotsCache(cacheManager, meterRegistry), availabilityVersions,
+                availabilityRequestStatistics, properties, meterRegistry, refreshExecutor, expiryScheduler);
+
+        cache().put(TIRES, STALE);
+        cache().put(OTHER_DATE_TIRES, STALE);
+    }
+
+    @Test
+    void staleEntryIsServedWhileTheRefreshIsQueued() {
+        final String eTag = availabilityVersions.eTag(DATE);
+
+        availabilityRefreshService.onBookingDayRevised(new BookingDayRevisedEvent(DATE, 1));
+
+        assertThat(refreshExecutor.tasks).hasSize(1);
+        assertThat(cachedSlots(TIRES)).isEqualTo(STALE);
+        assertThat(availabilityVersions.eTag(DATE)).isEqualTo(eTag);
+
+        refreshExecutor.runAll();
+
+        assertThat(cachedSlots(TIRES)).isEqualTo(FRESH);
+        assertThat(cachedSlots(OTHER_DATE_TIRES)).isEqualTo(STALE);
+        assertThat(availabilityVersions.eTag(DATE)).isNotEqualTo(eTag);
+        assertThat(countRefreshes("refreshed")).isEqualTo(1);
+    }
+
+    @Test
+    void bookingsCommittedWhileARefreshIsQueuedAreCoalescedIntoIt() {
+        final String eTag = availabilityVersions.eTag(DATE);
+
+        availabilityRefreshService.onBookingDayRevised(new BookingDayRevisedEvent(DATE, 1));
+        availabilityRefreshService.onBookingDayRevised(new BookingDayRevisedEvent(DATE, 2));
+        availabilityRefreshService.onBookingDayRevised(new BookingDayRevisedEvent(DATE, 3));
+
+        assertThat(refreshExecutor.tasks).hasSize(1);
+        refreshExecutor.runAll();
+
+        verify(availabilityService, times(1)).refreshAvailableSlots(DATE, TIRES.operationIds());
+        assertThat(countRefreshes("refreshed")).isEqualTo(1);
+        assertThat(availabilityVersions.eTag(DATE)).isNotEqualTo(eTag);
+
+        // A booking after the refresh queues the next one
+        availabilityRefreshService.onBookingDayRevised(new BookingDayRevisedEvent(DATE, 4));
+        assertThat(refreshExecutor.tasks).hasSize(1);
+    }
+
+    @Test
+    void leastRequestedEntriesBeyondTheLimitAreEvictedRightAway() {
+        cache().put(LAMPS, STALE);
+        cache().put(CHECK, STALE);
+        availabilityRequestStatistics.record(LAMPS.operationIds());
+        availabilityRequestStatistics.record(LAMPS.operationIds());
+        availabilityRequestStatistics.record(TIRES.operationIds());
+
+        availabilityRefreshService.onBookingDayRevised(new BookingDayRevisedEvent(DATE, 1));
+
+        assertThat(cachedSlots(LAMPS)).isEqualTo(STALE);
+        assertThat(cachedSlots(TIRES)).isEqualTo(STALE);
+        assertThat(cachedSlots(CHECK)).isNull();
+    }
+
+    @Test
+    void rejectedRefreshEvictsTheEntriesOfTheDate() {
+        final String eTag = availabilityVersions.eTag(DATE);
+        refreshExecutor.rejecting = true;
+
+        availabilityRefreshService.onBookingDayRevised(new BookingDayRevisedEvent(DATE, 1));
+
+        assertThat(cachedSlots(TIRES)).isNull();
+        assertThat(cachedSlots(OTHER_DATE_TIRES)).isEqualTo(STALE);
+        assertThat(availabilityVersions.eTag(DATE)).isNotEqualTo(eTag);
+        assertThat(countRefreshes("rejected")).isEqualTo(1);
+        verifyNoInteractions(availabilityService);
+
+        // The next booking tries to queue a refresh again
+        refreshExecutor.rejecting = false;
+        availabilityRefreshService.onBookingDayRevised(new BookingDayRevisedEvent(DATE, 2));
+        assertThat(refreshExecutor.tasks).hasSize(1);
+    }
+
+    @Test
+    void refreshNotCompletedWithinTheMaximumStalenessExpires() {
+        final String eTag = availabilityVersions.eTag(DATE);
+
+        availabilityRefreshService.onBookingDayRevised(new BookingDayRevisedEvent(DATE, 1));
+        final Runnable expiry = scheduledExpiry(CLOCK.instant().plusMillis(MAX_STALENESS_MILLIS));
+        expiry.run();
+
+        assertThat(cachedSlots(TIRES)).isNull();
+        assertThat(cachedSlots(OTHER_DATE_TIRES)).isEqualTo(STALE);
+        final String expiredETag = availabilityVersions.eTag(DATE);
+        assertThat(expiredETag).isNotEqualTo(eTag);
+        assertThat(countRefreshes("expired")).isEqualTo(1);
+
+        // The late refresh no longer bumps the version of the generation it reflects
+        refreshExecutor.runAll();
+        assertThat(availabilityVersions.eTag(DATE)).isEqualTo(expiredETag);
+        assertThat(countRefreshes("refreshed")).isZero();
+    }
+
+    @Test
+    void expiryAfterTheRefreshCompletedKeepsTheRefreshedEntries() {
+        availabilityRefreshService.onBookingDayRevised(new BookingDayRevisedEvent(DATE, 1));
+        refreshExecutor.runAll();
+        final String eTag = availabilityVersions.eTag(DATE);
+
+        scheduledExpiry(CLOCK.instant().plusMillis(MAX_STALENESS_MILLIS)).run();
+
+        assertThat(cachedSlots(TIRES)).isEqualTo(FRESH);
+        assertThat(availabilityVersions.eTag(DATE)).isEqualTo(eTag);
+        assertThat(countRefreshes("expired")).isZero();
+    }
+
+    private Runnable scheduledExpiry(final Instant dueAt) {
+        final ArgumentCaptor<Runnable> expiry = ArgumentCaptor.forClass(Runnable.class);
+        verify(expiryScheduler).schedule(expiry.capture(), eq(dueAt));
+        return expiry.getValue();
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(AvailableSlotsCache.NAME);
+    }
+
+    private Object cachedSlots(final AvailableSlotsKey key) {
+        final Cache.ValueWrapper value = cache().get(key);
+        return value == null ? null : value.get();
+    }
+
+    private double countRefreshes(final String outcome) {
+        final Counter counter = meterRegistry.find("reservation.cache.refreshes").tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    /**
+     * Executor queuing its tasks until the test runs them, or rejecting them like a saturated executor.
+     */
+    private static final class ManualExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean rejecting;
+
+        @Override
+        public void execute(final Runnable task) {
+            if (rejecting) {
+                throw new RejectedExecutionException("Refresh executor saturated");
+            }
+            tasks.add(task);
+        }
+
+        private void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.api.component.AvailabilityEngine;
+import com.bloomreach.garage.reservation.api.component.AvailabilityRequestStatistics;
+import com.bloomreach.garage.reservation.api.component.AvailabilityVersions;
+import com.bloomreach.garage.reservation.api.component.ClosureCalendar;
+import com.bloomreach.garage.reservation.api.component.ReferenceData;
+import com.bloomreach.garage.reservation.api.component.ReservationMetrics;
+import com.bloomreach.garage.reservation.api.entity.GarageOperation;
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import com.bloomreach.garage.reservation.api.model.DailyAvailableSlots;
+import com.bloomreach.garage.reservation.api.validator.AvailabilityValidator;
+import com.bloomreach.garage.reservation.config.AvailabilityExecutorConfig;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AvailabilityServiceTest {
+
+    private static final int MAX_ADVANCE_DAYS = 14;
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final List<Long> OPERATION_IDS = List.of(2L);
+
+    private static final AvailableSlot NINE = new AvailableSlot(LocalTime.of(9, 0), LocalTime.of(10, 0));
+    private static final AvailableSlot TEN = new AvailableSlot(LocalTime.of(10, 0), LocalTime.of(11, 0));
+
+    private final AvailabilityEngine availabilityEngine = mock(AvailabilityEngine.class);
+    private final ClosureCalendar closureCalendar = mock(ClosureCalendar.class);
+    private final Map<LocalDate, List<AvailableSlot>> slotsByDate = new HashMap<>();
+    private final ReservationProperties properties = new ReservationProperties();
+
+    private ReferenceData referenceData;
+    private AvailabilityService availabilityService;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMaxAdvanceDays(MAX_ADVANCE_DAYS);
+
+        final GarageOperation tireReplacement = new GarageOperation();
+        tireReplacement.setId(2L);
+        tireReplacement.setDurationInMinutes(60);
+        referenceData = mock(ReferenceData.class);
+        when(referenceData.findOperations(OPERATION_IDS)).thenReturn(List.of(tireReplacement));
+
+        // Like the engine, a date returns at most the requested number of its slots
+        when(availabilityEngine.findAvailableSlots(any(LocalDate.class), anyList(), anyInt())).thenAnswer(invocation -> {
+            final List<AvailableSlot> slots = slotsByDate.getOrDefault(invocation.getArgument(0), List.of());
+            return slots.subList(0, Math.min(slots.size(), invocation.<Integer>getArgument(2)));
+        });
+        when(availabilityEngine.findAvailableSlots(any(LocalDate.class), anyList()))
+                .thenAnswer(invocation -> slotsByDate.getOrDefault(invocation.getArgument(0), List.of()));
+
+        useAvailabilityExecutor(Runnable::run);
+    }
+
+    @Test
+    void earliestSearchStopsOnceTheLimitIsReached() {
+        slotsByDate.put(TODAY.plusDays(1), List.of(NINE, TEN));
+        slotsByDate.put(TODAY.plusDays(2), List.of(NINE, TEN));
+        slotsByDate.put(TODAY.plusDays(3), List.of(NINE, TEN));
+
+        assertThat(availabilityService.findEarliestSlots(OPERATION_IDS, 3)).containsExactly(
+                new DailyAvailableSlots(TODAY.plusDays(1), List.of(NINE, TEN)),
+                new DailyAvailableSlots(TODAY.plusDays(2), List.of(NINE)));
+
+        // Only the remaining number of slots is searched on the last date, and later dates are never loaded
+        verify(availabilityEngine).findAvailableSlots(eq(TODAY.plusDays(1)), anyList(), eq(3));
+        verify(availabilityEngine).findAvailableSlots(eq(TODAY.plusDays(2)), anyList(), eq(1));
+        verify(availabilityEngine, never()).findAvailableSlots(eq(TODAY.plusDays(3)), anyList(), anyInt());
+        verify(availabilityEngine, times(3)).findAvailableSlots(any(LocalDate.class), anyList(), anyInt());
+    }
+
+    @Test
+    void earliestSearchSkipsClosedAndFullyBookedDates() {
+        when(closureCalendar.isClosed(TODAY.plusDays(1))).thenReturn(true);
+        slotsByDate.put(TODAY.plusDays(1), List.of(NINE));
+        slotsByDate.put(TODAY.plusDays(3), List.of(TEN));
+
+        assertThat(availabilityService.findEarliestSlots(OPERATION_IDS, 1))
+                .containsExactly(new DailyAvailableSlots(TODAY.plusDays(3), List.of(TEN)));
+
+        // The closed date is not even loaded
+        verify(availabilityEngine, never()).findAvailableSlots(eq(TODAY.plusDays(1)), anyList(), anyInt());
+        verify(availabilityEngine).findAvailableSlots(eq(TODAY.plusDays(2)), anyList(), eq(1));
+    }
+
+    @Test
+    void earliestSearchWithoutAvailableSlotsStopsAtTheEndOfTheBookingWindow() {
+        slotsByDate.put(TODAY.plusDays(MAX_ADVANCE_DAYS + 1), List.of(NINE));
+
+        assertThat(availabilityService.findEarliestSlots(OPERATION_IDS, 1)).isEmpty();
+
+        verify(availabilityEngine, times(MAX_ADVANCE_DAYS + 1)).findAvailableSlots(any(LocalDate.class), anyList(), anyInt());
+        verify(availabilityEngine).findAvailableSlots(eq(TODAY.plusDays(MAX_ADVANCE_DAYS)), anyList(), anyInt());
+        verify(availabilityEngine, never()).findAvailableSlots(eq(TODAY.plusDays(MAX_ADVANCE_DAYS + 1)), anyList(), anyInt());
+    }
+
+    @Test
+    void rangeSearchLoadsTheRangeOnceAndReturnsEveryDateInOrder() {
+        when(closureCalendar.isClosed(TODAY.plusDays(2))).thenReturn(true);
+        slotsByDate.put(TODAY.plusDays(1), List.of(NINE, TEN));
+        slotsByDate.put(TODAY.plusDays(2), List.of(NINE));
+        slotsByDate.put(TODAY.plusDays(3), List.of(TEN));
+
+        assertThat(availabilityService.findAvailableSlots(TODAY.plusDays(1), TODAY.plusDays(3), OPERATION_IDS))
+                .containsExactly(
+                        new DailyAvailableSlots(TODAY.plusDays(1), List.of(NINE, TEN)),
+                        new DailyAvailableSlots(TODAY.plusDays(2), List.of()),
+                        new DailyAvailableSlots(TODAY.plusDays(3), List.of(TEN)));
+
+        verify(availabilityEngine).preloadDays(TODAY.plusDays(1), TODAY.plusDays(3));
+        verify(availabilityEngine, never()).findAvailableSlots(eq(TODAY.plusDays(2)), anyList());
+    }
+
+    @Test
+    void rangeSearchKeepsTheDatesInOrderWhenTheyCompleteOutOfOrder() throws InterruptedException {
+        properties.setAvailabilityParallelism(3);
+        final ThreadPoolTaskExecutor executor = new AvailabilityExecutorConfig().availabilityExecutor(properties);
+        executor.initialize();
+        try {
+            useAvailabilityExecutor(executor);
+
+            // The first date completes only after the last one, which is only possible if they run in parallel
+            final CountDownLatch lastDateComputed = new CountDownLatch(1);
+            final List<LocalDate> completed = new CopyOnWriteArrayList<>();
+            when(availabilityEngine.findAvailableSlots(any(LocalDate.class), anyList())).thenAnswer(invocation -> {
+                final LocalDate date = invocation.getArgument(0);
+                if (date.equals(TODAY.plusDays(1))) {
+                    assertThat(lastDateComputed.await(10, TimeUnit.SECONDS)).isTrue();
+                }
+                completed.add(date);
+                if (date.equals(TODAY.plusDays(3))) {
+                    lastDateComputed.countDown();
+                }
+                return List.of(date.equals(TODAY.plusDays(2)) ? TEN : NINE);
+            });
+
+            assertThat(availabilityService.findAvailableSlots(TODAY.plusDays(1), TODAY.plusDays(3), OPERATION_IDS))
+                    .containsExactly(
+                            new DailyAvailableSlots(TODAY.plusDays(1), List.of(NINE)),
+                            new DailyAvailableSlots(TODAY.plusDays(2), List.of(TEN)),
+                            new DailyAvailableSlots(TODAY.plusDays(3), List.of(NINE)));
+            assertThat(completed).endsWith(TODAY.plusDays(1));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void rangeSearchComputesTheDatesBeyondTheFullQueueOnTheCallingThread() throws InterruptedException {
+        properties.setAvailabilityParallelism(1);
+        final ThreadPoolTaskExecutor executor = new AvailabilityExecutorConfig().availabilityExecutor(properties);
+        executor.initialize();
+        try {
+            useAvailabilityExecutor(executor);
+
+            // Occupy the only thread, so the queue of max-advance-days tasks is full before the last date
+            final CountDownLatch blocked = new CountDownLatch(1);
+            final CountDownLatch callerComputed = new CountDownLatch(1);
+            executor.execute(() -> {
+                blocked.countDown();
+                awaitQuietly(callerComputed);
+            });
+            assertThat(blocked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            final Thread caller = Thread.currentThread();
+            final Map<LocalDate, Thread> computingThreads = new ConcurrentHashMap<>();
+            when(availabilityEngine.findAvailableSlots(any(LocalDate.class), anyList())).thenAnswer(invocation -> {
+                computingThreads.put(invocation.getArgument(0), Thread.currentThread());
+                if (Thread.currentThread() == caller) {
+                    callerComputed.countDown();
+                }
+                return List.of(NINE);
+            });
+
+            final LocalDate lastDate = TODAY.plusDays(MAX_ADVANCE_DAYS);
+            assertThat(availabilityService.findAvailableSlots(TODAY, lastDate, OPERATION_IDS))
+                    .extracting(DailyAvailableSlots::getDate)
+                    .containsExactlyElementsOf(TODAY.datesUntil(lastDate.plusDays(1)).toList());
+            assertThat(computingThreads).hasSize(MAX_ADVANCE_DAYS + 1);
+            assertThat(computingThreads.get(lastDate)).isSameAs(caller);
+            assertThat(computingThreads.get(TODAY)).isNotSameAs(caller);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void rangeSearchRejectsRangesOutsideOfTheBookingWindow() {
+        assertRangeRejected(TODAY.plusDays(2), TODAY.plusDays(1), ErrorMessage.FROM_DATE_CANNOT_BE_AFTER_TO_DATE);
+        assertRangeRejected(TODAY.minusDays(1), TODAY.plusDays(1), ErrorMessage.DATE_CANNOT_BE_IN_THE_PAST);
+        assertRangeRejected(TODAY, TODAY.plusDays(MAX_ADVANCE_DAYS + 1), ErrorMessage.DATE_CANNOT_BE_MORE_THAN);
+
+        verifyNoInteractions(availabilityEngine);
+    }
+
+    private void assertRangeRejected(final LocalDate from, final LocalDate to, final ErrorMessage reason) {
+        assertThatThrownBy(() -> availabilityService.findAvailableSlots(from, to, OPERATION_IDS))
+                .isInstanceOfSatisfying(ValidationError.class, error -> assertThat(error.getReason()).isEqualTo(reason));
+    }
+
+    private void useAvailabilityExecutor(final Executor executor) {
+        availabilityService = new AvailabilityService(referenceData, new AvailabilityValidator(properties),
+                availabilityEngine, closureCalendar, new AvailabilityVersions(mock(ApplicationEventPublisher.class)),
+                new AvailabilityRequestStatistics(), new ReservationMetrics(new SimpleMeterRegistry()), properties,
+                executor);
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
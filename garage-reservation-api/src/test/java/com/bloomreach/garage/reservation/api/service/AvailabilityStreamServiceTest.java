@@ -0,0 +1,224 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.api.controller.ReservationController;
+import com.bloomreach.garage.reservation.api.event.AvailabilityChangedEvent;
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import com.bloomreach.garage.reservation.config.AvailabilityExecutorConfig;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Subscribes to availability streams through the {@link ReservationController}, so that the events sent to
+ * the subscribers can be read from the responses, with a stream executor run by the test.
+ */
+class AvailabilityStreamServiceTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+    private static final List<AvailableSlot> INITIAL_SLOTS = List.of(
+            new AvailableSlot(LocalTime.of(8, 0), LocalTime.of(9, 0)),
+            new AvailableSlot(LocalTime.of(9, 0), LocalTime.of(10, 0)));
+    private static final List<AvailableSlot> BOOKED_SLOTS = List.of(
+            new AvailableSlot(LocalTime.of(9, 0), LocalTime.of(10, 0)));
+
+    private final AvailabilityService availabilityService = mock(AvailabilityService.class);
+    private final ReservationProperties reservationProperties = new ReservationProperties();
+    private final ManualExecutor streamExecutor = new ManualExecutor();
+
+    private SimpleMeterRegistry meterRegistry;
+    private AvailabilityStreamService availabilityStreamService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        reservationProperties.setStreamBufferSize(4);
+        reservationProperties.setStreamTimeoutMillis(60_000);
+        when(availabilityService.findAvailableSlotsETag(eq(DATE), any())).thenReturn("\"1-0\"");
+        when(availabilityService.findAvailableSlots(eq(DATE), any())).thenReturn(INITIAL_SLOTS, BOOKED_SLOTS);
+
+        useStreamExecutor(streamExecutor);
+    }
+
+    @Test
+    void subscriberFirstReceivesAllAvailableSlots() throws Exception {
+        final MvcResult subscriber = subscribe("1", "2");
+        streamExecutor.runAll();
+
+        assertThat(subscriber.getResponse().getContentAsString())
+                .startsWith("event:slots\n")
+                .doesNotContain("event:delta");
+        assertThat(gauge("reservation.stream.subscribers")).isEqualTo(1);
+    }
+
+    @Test
+    void changeOfTheStreamedDateIsSentAsDelta() throws Exception {
+        final MvcResult subscriber = subscribe("1", "2");
+        streamExecutor.runAll();
+
+        // Published by the availability versions once a booking of the date is reflected
+        availabilityStreamService.onAvailabilityChanged(new AvailabilityChangedEvent(DATE.plusDays(1)));
+        assertThat(streamExecutor.tasks).isEmpty();
+        availabilityStreamService.onAvailabilityChanged(new AvailabilityChangedEvent(DATE));
+        streamExecutor.runAll();
+
+        final String events = subscriber.getResponse().getContentAsString();
+        assertThat(events).contains("event:delta\n");
+        assertThat(events.substring(events.indexOf("event:delta")))
+                .contains("\"addedSlots\":[]")
+                .doesNotContain("\"removedSlots\":[]");
+    }
+
+    @Test
+    void subscribersOfTheSameDateAndOperationsShareOneStream() throws Exception {
+        final MvcResult first = subscribe("1", "2");
+        final MvcResult second = subscribe("2", "1");
+        streamExecutor.runAll();
+
+        assertThat(gauge("reservation.stream.streams")).isEqualTo(1);
+        assertThat(gauge("reservation.stream.subscribers")).isEqualTo(2);
+
+        availabilityStreamService.onAvailabilityChanged(new AvailabilityChangedEvent(DATE));
+        availabilityStreamService.onAvailabilityChanged(new AvailabilityChangedEvent(null));
+        streamExecutor.runAll();
+
+        // Computed once when the stream was opened and once for both coalesced changes
+        verify(availabilityService, times(2)).findAvailableSlots(eq(DATE), any());
+        assertThat(first.getResponse().getContentAsString()).contains("event:delta\n");
+        assertThat(second.getResponse().getContentAsString()).contains("event:delta\n");
+    }
+
+    @Test
+    void subscriberOverflowingItsBufferIsDisconnected() throws Exception {
+        reservationProperties.setStreamBufferSize(1);
+        final MvcResult subscriber = subscribe("1", "2");
+
+        // The slots event is still buffered when the delta is published
+        availabilityStreamService.onAvailabilityChanged(new AvailabilityChangedEvent(DATE));
+        streamExecutor.runLatest();
+
+        assertThat(meterRegistry.get("reservation.stream.overflows").counter().count()).isEqualTo(1);
+        assertThat(gauge("reservation.stream.subscribers")).isZero();
+        assertThat(gauge("reservation.stream.streams")).isZero();
+
+        streamExecutor.runAll();
+        assertThat(subscriber.getResponse().getContentAsString()).doesNotContain("event:");
+    }
+
+    @Test
+    void subscribersAreDisconnectedWhenTheBoundedExecutorQueueIsFull() throws Exception {
+        reservationProperties.setStreamParallelism(1);
+        reservationProperties.setStreamQueueCapacity(1);
+        final ThreadPoolTaskExecutor boundedExecutor =
+                new AvailabilityExecutorConfig().availabilityStreamExecutor(reservationProperties);
+        boundedExecutor.initialize();
+        try {
+            useStreamExecutor(boundedExecutor);
+            final MvcResult first = subscribe("1", "2");
+            final MvcResult second = subscribe("1", "2");
+            awaitSlotsEvent(first);
+            awaitSlotsEvent(second);
+
+            // Occupy the only thread and the only queue slot
+            final CountDownLatch blocked = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            boundedExecutor.execute(() -> {
+                blocked.countDown();
+                awaitQuietly(release);
+            });
+            assertThat(blocked.await(10, TimeUnit.SECONDS)).isTrue();
+            boundedExecutor.execute(() -> { });
+
+            availabilityStreamService.onAvailabilityChanged(new AvailabilityChangedEvent(DATE));
+            release.countDown();
+
+            assertThat(meterRegistry.get("reservation.stream.overflows").counter().count()).isEqualTo(2);
+            assertThat(gauge("reservation.stream.subscribers")).isZero();
+            assertThat(gauge("reservation.stream.streams")).isZero();
+        } finally {
+            boundedExecutor.shutdown();
+        }
+    }
+
+    private void useStreamExecutor(final Executor executor) {
+        meterRegistry = new SimpleMeterRegistry();
+        availabilityStreamService = new AvailabilityStreamService(availabilityService, reservationProperties,
+                executor, meterRegistry);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ReservationController(
+                availabilityService, availabilityStreamService, mock(BookingService.class))).build();
+    }
+
+    private MvcResult subscribe(final String... operationIds) throws Exception {
+        return mockMvc.perform(get("/reservations/availableSlots/stream")
+                        .param("date", DATE.toString())
+                        .param("operationIds", operationIds))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private double gauge(final String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private static void awaitSlotsEvent(final MvcResult subscriber) throws Exception {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!subscriber.getResponse().getContentAsString().contains("event:slots")) {
+            assertThat(System.nanoTime()).as("Slots event sent").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Executor queuing its tasks until the test runs them.
+     */
+    private static final class ManualExecutor implements Executor {
+
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(final Runnable task) {
+            tasks.add(task);
+        }
+
+        private void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+
+        private void runLatest() {
+            tasks.pollLast().run();
+        }
+    }
+}
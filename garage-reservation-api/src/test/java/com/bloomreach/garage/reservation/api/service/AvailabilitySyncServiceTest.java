@@ -0,0 +1,145 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.api.component.AvailabilityEngine;
+import com.bloomreach.garage.reservation.api.component.AvailabilityVersions;
+import com.bloomreach.garage.reservation.api.component.AvailableSlotsCache;
+import com.bloomreach.garage.reservation.api.component.ClosureCalendar;
+import com.bloomreach.garage.reservation.api.component.ReferenceData;
+import com.bloomreach.garage.reservation.api.entity.BookingDay;
+import com.bloomreach.garage.reservation.api.event.BookingDayRevisedEvent;
+import com.bloomreach.garage.reservation.api.repository.BookingDayRepository;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AvailabilitySyncServiceTest {
+
+    private static final long SYNC_INTERVAL_MILLIS = 5_000;
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+    private static final LocalDate OTHER_DATE = DATE.plusDays(1);
+    private static final LocalDate NEW_DATE = DATE.plusDays(2);
+
+    private final BookingDayRepository bookingDayRepository = mock(BookingDayRepository.class);
+    private final ReferenceData referenceData = mock(ReferenceData.class);
+    private final ClosureCalendar closureCalendar = mock(ClosureCalendar.class);
+    private final AvailabilityEngine availabilityEngine = mock(AvailabilityEngine.class);
+    private final AvailableSlotsCache availableSlotsCache = mock(AvailableSlotsCache.class);
+    private final AvailabilityVersions availabilityVersions = new AvailabilityVersions(mock(ApplicationEventPublisher.class));
+    private final TaskScheduler syncScheduler = mock(TaskScheduler.class);
+
+    private AvailabilitySyncService availabilitySyncService;
+
+    @BeforeEach
+    void setUp() {
+        final ReservationProperties properties = new ReservationProperties();
+        properties.setSyncIntervalMillis(SYNC_INTERVAL_MILLIS);
+
+        availabilitySyncService = new AvailabilitySyncService(bookingDayRepository, referenceData, closureCalendar,
+                availabilityEngine, availableSlotsCache, availabilityVersions, properties, syncScheduler);
+
+        // The revisions known when the application became ready are the baseline
+        revisions(new BookingDay(DATE, 1), new BookingDay(OTHER_DATE, 1));
+        availabilitySyncService.onApplicationReady();
+    }
+
+    @Test
+    void checksAreScheduledOnceTheApplicationIsReady() {
+        verify(syncScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Duration.class));
+        verifyNoInteractions(availabilityEngine, availableSlotsCache);
+    }
+
+    @Test
+    void bookingOfAnotherInstanceEvictsOnlyItsDate() {
+        final String eTag = availabilityVersions.eTag(DATE);
+        final String otherETag = availabilityVersions.eTag(OTHER_DATE);
+        revisions(new BookingDay(DATE, 2), new BookingDay(OTHER_DATE, 1), new BookingDay(NEW_DATE, 0));
+
+        availabilitySyncService.synchronize();
+
+        verify(availabilityEngine).evictDate(DATE);
+        verify(availableSlotsCache).evictDate(DATE);
+        verify(availabilityEngine).evictDate(NEW_DATE);
+        verify(availableSlotsCache).evictDate(NEW_DATE);
+        verify(availabilityEngine, never()).evictDate(OTHER_DATE);
+        verify(availableSlotsCache, never()).evictAll();
+        final String changedETag = availabilityVersions.eTag(DATE);
+        assertThat(changedETag).isNotEqualTo(eTag);
+        assertThat(availabilityVersions.eTag(OTHER_DATE)).isEqualTo(otherETag);
+
+        // The revisions are evicted once only
+        availabilitySyncService.synchronize();
+        verify(availabilityEngine).evictDate(DATE);
+        assertThat(availabilityVersions.eTag(DATE)).isEqualTo(changedETag);
+    }
+
+    @Test
+    void bookingOfThisInstanceEvictsNothing() {
+        final String eTag = availabilityVersions.eTag(DATE);
+        availabilitySyncService.onBookingDayRevised(new BookingDayRevisedEvent(DATE, 2));
+        revisions(new BookingDay(DATE, 2), new BookingDay(OTHER_DATE, 1));
+
+        availabilitySyncService.synchronize();
+
+        verifyNoInteractions(availabilityEngine, availableSlotsCache);
+        assertThat(availabilityVersions.eTag(DATE)).isEqualTo(eTag);
+    }
+
+    @Test
+    void changedReferenceDataEvictsEverything() {
+        final String eTag = availabilityVersions.eTag(DATE);
+        when(referenceData.refresh()).thenReturn(true);
+
+        availabilitySyncService.synchronize();
+
+        verify(availabilityEngine).evictAll();
+        verify(availableSlotsCache).evictAll();
+        assertThat(availabilityVersions.eTag(DATE)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void changedClosuresEvictAllCachedSlotsButNoSnapshots() {
+        final String eTag = availabilityVersions.eTag(DATE);
+        when(closureCalendar.refresh()).thenReturn(true);
+
+        availabilitySyncService.synchronize();
+
+        verify(availableSlotsCache).evictAll();
+        verifyNoInteractions(availabilityEngine);
+        assertThat(availabilityVersions.eTag(DATE)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void failingCheckIsRetriedByTheNextOne() {
+        doThrow(new IllegalStateException("Database unavailable"))
+                .when(bookingDayRepository).findByDayGreaterThanEqual(any());
+
+        assertThatCode(availabilitySyncService::synchronize).doesNotThrowAnyException();
+        verifyNoInteractions(availabilityEngine, availableSlotsCache);
+
+        revisions(new BookingDay(DATE, 2));
+        availabilitySyncService.synchronize();
+        verify(availabilityEngine).evictDate(DATE);
+    }
+
+    private void revisions(final BookingDay... bookingDays) {
+        doReturn(List.of(bookingDays)).when(bookingDayRepository).findByDayGreaterThanEqual(any());
+    }
+}
@@ -0,0 +1,56 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.AbstractIntegrationTest;
+import com.bloomreach.garage.reservation.api.model.AvailabilityWarmupStatus;
+import com.bloomreach.garage.reservation.api.model.AvailabilityWarmupStatus.State;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvailabilityWarmupServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private AvailabilityWarmupService availabilityWarmupService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ReservationProperties reservationProperties;
+
+    @Test
+    void warmupWithoutHistoryWarmsUpTheSingleOperations() throws InterruptedException {
+        final AvailabilityWarmupStatus status = warmUp();
+
+        assertThat(status.getState()).isEqualTo(State.COMPLETED);
+        assertThat(status.getCombinations())
+                .containsExactly(List.of(GENERAL_CHECK), List.of(TIRE_REPLACEMENT), List.of(BROKEN_LAMP_CHANGE));
+        assertThat(status.getComputedEntries())
+                .isEqualTo(3 * (reservationProperties.getMaxAdvanceDays() + 1))
+                .isEqualTo(status.getEntries());
+    }
+
+    @Test
+    void warmupRanksBookedCombinationsBeforeTheSingleOperations() throws InterruptedException {
+        bookingService.bookAppointment(bookingRequest(nextMonday(), LocalTime.of(9, 0), LocalTime.of(10, 30),
+                CUSTOMER, List.of(BROKEN_LAMP_CHANGE, TIRE_REPLACEMENT)));
+
+        final AvailabilityWarmupStatus status = warmUp();
+
+        assertThat(status.getCombinations()).containsExactly(List.of(TIRE_REPLACEMENT, BROKEN_LAMP_CHANGE),
+                List.of(GENERAL_CHECK), List.of(TIRE_REPLACEMENT), List.of(BROKEN_LAMP_CHANGE));
+    }
+
+    private AvailabilityWarmupStatus warmUp() throws InterruptedException {
+        assertThat(availabilityWarmupService.start()).isTrue();
+        for (int attempt = 0; attempt < 300 && availabilityWarmupService.getStatus().getState() == State.RUNNING; attempt++) {
+            Thread.sleep(100);
+        }
+        return availabilityWarmupService.getStatus();
+    }
+}
@@ -0,0 +1,136 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.AbstractIntegrationTest;
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.model.BatchBookingMode;
+import com.bloomreach.garage.reservation.api.model.BatchBookingRequest;
+import com.bloomreach.garage.reservation.api.model.BatchBookingResponse;
+import com.bloomreach.garage.reservation.api.model.BatchBookingResponse.Status;
+import com.bloomreach.garage.reservation.api.model.BookingRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.bloomreach.garage.reservation.api.component.ReservationMetrics.FLOW_BATCH_BOOKING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class BatchBookingTest extends AbstractIntegrationTest {
+
+    private static final LocalTime NINE = LocalTime.of(9, 0);
+    private static final LocalTime TEN = LocalTime.of(10, 0);
+    private static final LocalTime ELEVEN = LocalTime.of(11, 0);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void bestEffortBooksTheValidBookingsAndRejectsTheIncompleteOnes() {
+        final BatchBookingResponse response = bookingService.bookAppointments(
+                batch(BatchBookingMode.BEST_EFFORT, mixedBookings(nextMonday())));
+
+        assertThat(response.getBookedCount()).isEqualTo(2);
+        assertThat(response.getResults())
+                .extracting(BatchBookingResponse.Result::getStatus, BatchBookingResponse.Result::getError)
+                .containsExactly(
+                        tuple(Status.BOOKED, null),
+                        tuple(Status.REJECTED, ErrorMessage.DATE_IS_REQUIRED.format()),
+                        tuple(Status.REJECTED, ErrorMessage.START_TIME_IS_REQUIRED.format()),
+                        tuple(Status.REJECTED, ErrorMessage.END_TIME_IS_REQUIRED.format()),
+                        tuple(Status.REJECTED, ErrorMessage.CUSTOMER_ID_IS_REQUIRED.format()),
+                        tuple(Status.REJECTED, ErrorMessage.OPERATION_ID_IS_REQUIRED.format()),
+                        tuple(Status.REJECTED, ErrorMessage.BOOKING_IS_REQUIRED.format()),
+                        tuple(Status.BOOKED, null));
+        assertThat(countAppointments()).isEqualTo(2);
+    }
+
+    @Test
+    void allOrNothingBooksNothingWhenABookingIsIncomplete() {
+        final BatchBookingResponse response = bookingService.bookAppointments(
+                batch(BatchBookingMode.ALL_OR_NOTHING, mixedBookings(nextMonday())));
+
+        assertThat(response.getBookedCount()).isZero();
+        assertThat(response.getResults())
+                .extracting(BatchBookingResponse.Result::getStatus)
+                .containsExactly(Status.NOT_BOOKED, Status.REJECTED, Status.REJECTED, Status.REJECTED,
+                        Status.REJECTED, Status.REJECTED, Status.REJECTED, Status.NOT_BOOKED);
+        assertThat(countAppointments()).isZero();
+    }
+
+    @Test
+    void allOrNothingBooksAllBookingsWhenAllAreValid() {
+        final LocalDate date = nextMonday();
+        final BatchBookingResponse response = bookingService.bookAppointments(batch(BatchBookingMode.ALL_OR_NOTHING, List.of(
+                bookingRequest(date, NINE, TEN, CUSTOMER, List.of(TIRE_REPLACEMENT)),
+                bookingRequest(date, TEN, ELEVEN, CUSTOMER, List.of(TIRE_REPLACEMENT)))));
+
+        assertThat(response.getBookedCount()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(BatchBookingResponse.Result::getStatus)
+                .containsOnly(Status.BOOKED);
+        assertThat(countAppointments()).isEqualTo(2);
+    }
+
+    @Test
+    void bestEffortRejectsABookingWithoutFreeMechanicsLikeASingleBooking() {
+        final LocalDate date = nextMonday();
+        final double failures = countFailures(ErrorMessage.NO_AVAILABLE_MECHANICS_FOR_THIS_OPERATION);
+
+        // Both seeded mechanics are taken by the first two bookings
+        final BatchBookingResponse response = bookingService.bookAppointments(batch(BatchBookingMode.BEST_EFFORT, List.of(
+                bookingRequest(date, NINE, TEN, CUSTOMER, List.of(TIRE_REPLACEMENT)),
+                bookingRequest(date, NINE, TEN, CUSTOMER, List.of(TIRE_REPLACEMENT)),
+                bookingRequest(date, NINE, TEN, CUSTOMER, List.of(TIRE_REPLACEMENT)))));
+
+        assertThat(response.getResults())
+                .extracting(BatchBookingResponse.Result::getStatus, BatchBookingResponse.Result::getError)
+                .containsExactly(
+                        tuple(Status.BOOKED, null),
+                        tuple(Status.BOOKED, null),
+                        tuple(Status.REJECTED, ErrorMessage.NO_AVAILABLE_MECHANICS_FOR_THIS_OPERATION.format()));
+        assertThat(countFailures(ErrorMessage.NO_AVAILABLE_MECHANICS_FOR_THIS_OPERATION)).isEqualTo(failures + 1);
+    }
+
+    /**
+     * Two valid bookings around incomplete ones, each missing a different required field.
+     */
+    private static List<BookingRequest> mixedBookings(final LocalDate date) {
+        final List<BookingRequest> bookings = new ArrayList<>(Arrays.asList(
+                bookingRequest(date, NINE, TEN, CUSTOMER, List.of(TIRE_REPLACEMENT)),
+                bookingRequest(null, NINE, TEN, CUSTOMER, List.of(TIRE_REPLACEMENT)),
+                bookingRequest(date, null, TEN, CUSTOMER, List.of(TIRE_REPLACEMENT)),
+                bookingRequest(date, NINE, null, CUSTOMER, List.of(TIRE_REPLACEMENT)),
+                bookingRequest(date, NINE, TEN, null, List.of(TIRE_REPLACEMENT)),
+                bookingRequest(date, NINE, TEN, CUSTOMER, Arrays.asList(TIRE_REPLACEMENT, null)),
+                null));
+        bookings.add(bookingRequest(date, TEN, ELEVEN, CUSTOMER, List.of(TIRE_REPLACEMENT)));
+        return bookings;
+    }
+
+    private static BatchBookingRequest batch(final BatchBookingMode mode, final List<BookingRequest> bookings) {
+        final BatchBookingRequest request = new BatchBookingRequest();
+        request.setMode(mode);
+        request.setBookings(bookings);
+        return request;
+    }
+
+    private double countFailures(final ErrorMessage reason) {
+        final Counter counter = meterRegistry.find("reservation.booking.failures")
+                .tags("flow", FLOW_BATCH_BOOKING, "reason", reason.name())
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private int countAppointments() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM garage_appointments", Integer.class);
+    }
+}
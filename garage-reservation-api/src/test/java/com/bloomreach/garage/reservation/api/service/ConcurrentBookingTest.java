@@ -0,0 +1,121 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.AbstractIntegrationTest;
+import com.bloomreach.garage.reservation.api.error.ProcessingError;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.model.BookingRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Books the same and neighbouring slots of a date from many threads at once and checks that no garage box and
+ * no mechanic ends up with overlapping appointments.
+ */
+class ConcurrentBookingTest extends AbstractIntegrationTest {
+
+    private static final int BOOKINGS = 300;
+    private static final int THREADS = 32;
+
+    private static final LocalTime WINDOW_START = LocalTime.of(9, 0);
+    private static final LocalTime WINDOW_END = LocalTime.of(12, 0);
+    private static final int SHORTEST_BOOKING_MINUTES = 30;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void parallelBookingsNeverOverlapOrExceedTheCapacity() throws Exception {
+        final LocalDate date = nextMonday();
+
+        final List<Callable<Boolean>> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            final BookingRequest request = request(date, i);
+            bookings.add(() -> book(request));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long booked = 0;
+        try {
+            for (final Future<Boolean> result : executor.invokeAll(bookings)) {
+                if (result.get()) {
+                    booked++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final List<Interval> boxIntervals = jdbcTemplate.query(
+                "SELECT garage_box_id, start_time, end_time FROM garage_appointments WHERE date = ?",
+                (rs, rowNum) -> new Interval(rs.getLong(1), rs.getTime(2).toLocalTime(), rs.getTime(3).toLocalTime()),
+                date);
+        final List<Interval> mechanicIntervals = jdbcTemplate.query(
+                "SELECT o.employee_id, o.start_time, o.end_time FROM garage_appointment_operations o "
+                        + "JOIN garage_appointments a ON a.id = o.appointment_id WHERE a.date = ?",
+                (rs, rowNum) -> new Interval(rs.getLong(1), rs.getTime(2).toLocalTime(), rs.getTime(3).toLocalTime()),
+                date);
+
+        // Every box can host at most one appointment of the shortest duration at a time within the window
+        final long capacity = (long) SEEDED_GARAGE_BOXES
+                * (WINDOW_END.toSecondOfDay() - WINDOW_START.toSecondOfDay()) / 60 / SHORTEST_BOOKING_MINUTES;
+
+        assertThat(booked).isPositive().isLessThanOrEqualTo(capacity).isEqualTo(boxIntervals.size());
+        assertNoOverlaps(boxIntervals);
+        assertNoOverlaps(mechanicIntervals);
+    }
+
+    /**
+     * Spreads the bookings over the half hours of the window, alternating 30 and 60 minute operations so that
+     * they collide with the same slot and with their neighbours.
+     */
+    private static BookingRequest request(final LocalDate date, final int index) {
+        final LocalTime startTime = WINDOW_START.plusMinutes(30L * (index % 6));
+        if (index % 2 == 0 || startTime.plusMinutes(60).isAfter(WINDOW_END)) {
+            return bookingRequest(date, startTime, startTime.plusMinutes(30), CUSTOMER, List.of(BROKEN_LAMP_CHANGE));
+        }
+        return bookingRequest(date, startTime, startTime.plusMinutes(60), CUSTOMER, List.of(TIRE_REPLACEMENT));
+    }
+
+    /**
+     * Books the request, telling whether it succeeded. Rejections are expected once the slots are taken, any
+     * other failure fails the test.
+     */
+    private boolean book(final BookingRequest request) {
+        try {
+            bookingService.bookAppointment(request);
+            return true;
+        } catch (final ProcessingError | ValidationError e) {
+            return false;
+        }
+    }
+
+    private static void assertNoOverlaps(final List<Interval> intervals) {
+        final Map<Long, List<Interval>> byResource = intervals.stream()
+                .collect(Collectors.groupingBy(Interval::resourceId));
+        byResource.values().forEach(resourceIntervals -> {
+            resourceIntervals.sort(Comparator.comparing(Interval::start));
+            for (int i = 1; i < resourceIntervals.size(); i++) {
+                assertThat(resourceIntervals.get(i).start())
+                        .as("Overlapping intervals %s and %s", resourceIntervals.get(i - 1), resourceIntervals.get(i))
+                        .isAfterOrEqualTo(resourceIntervals.get(i - 1).end());
+            }
+        });
+    }
+
+    private record Interval(long resourceId, LocalTime start, LocalTime end) {
+    }
+}
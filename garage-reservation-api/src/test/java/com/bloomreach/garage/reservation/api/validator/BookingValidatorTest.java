@@ -0,0 +1,97 @@
+package com.bloomreach.garage.reservation.api.validator;
+
+import com.bloomreach.garage.reservation.api.component.ClosureCalendar;
+import com.bloomreach.garage.reservation.api.entity.GarageClosure;
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.model.BookingRequest;
+import com.bloomreach.garage.reservation.api.repository.GarageClosureRepository;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingValidatorTest {
+
+    private static final LocalDate CLOSED_DATE = LocalDate.now().plusDays(2);
+
+    private BookingValidator bookingValidator;
+
+    @BeforeEach
+    void setUp() {
+        final ReservationProperties properties = new ReservationProperties();
+        properties.setMaxAdvanceDays(14);
+        properties.setMinAdvanceMinutes(30);
+
+        final GarageClosure closure = new GarageClosure();
+        closure.setClosureDate(CLOSED_DATE);
+        final GarageClosureRepository garageClosureRepository = mock(GarageClosureRepository.class);
+        when(garageClosureRepository.findAll()).thenReturn(List.of(closure));
+
+        bookingValidator = new BookingValidator(properties, new ClosureCalendar(garageClosureRepository));
+    }
+
+    @Test
+    void validateAcceptsACompleteBooking() {
+        assertThatCode(() -> bookingValidator.validate(booking(request -> { }))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void validateRejectsAMissingBooking() {
+        assertRejected(null, ErrorMessage.BOOKING_IS_REQUIRED);
+    }
+
+    @Test
+    void validateRejectsMissingFields() {
+        assertRejected(booking(request -> request.setOperationIds(null)), ErrorMessage.OPERATION_ID_IS_REQUIRED);
+        assertRejected(booking(request -> request.setOperationIds(List.of())), ErrorMessage.OPERATION_ID_IS_REQUIRED);
+        assertRejected(booking(request -> request.setOperationIds(Arrays.asList(1L, null))),
+                ErrorMessage.OPERATION_ID_IS_REQUIRED);
+        assertRejected(booking(request -> request.setCustomerId(null)), ErrorMessage.CUSTOMER_ID_IS_REQUIRED);
+        assertRejected(booking(request -> request.setDate(null)), ErrorMessage.DATE_IS_REQUIRED);
+        assertRejected(booking(request -> request.setStartTime(null)), ErrorMessage.START_TIME_IS_REQUIRED);
+        assertRejected(booking(request -> request.setEndTime(null)), ErrorMessage.END_TIME_IS_REQUIRED);
+    }
+
+    @Test
+    void validateRejectsDatesOutsideOfTheBookingWindow() {
+        assertRejected(booking(request -> request.setDate(LocalDate.now().minusDays(1))),
+                ErrorMessage.BOOKING_CANNOT_BE_MADE_FOR_A_PAST_DATE);
+        assertRejected(booking(request -> request.setDate(LocalDate.now().plusDays(15))),
+                ErrorMessage.BOOKING_CANNOT_BE_MADE_MORE_THAN);
+    }
+
+    @Test
+    void validateRejectsBookingsOnClosedDates() {
+        assertRejected(booking(request -> request.setDate(CLOSED_DATE)), ErrorMessage.GARAGE_IS_CLOSED_ON);
+        assertThatCode(() -> bookingValidator.validate(booking(request -> request.setDate(CLOSED_DATE.plusDays(1)))))
+                .doesNotThrowAnyException();
+    }
+
+    private void assertRejected(final BookingRequest request, final ErrorMessage reason) {
+        assertThatThrownBy(() -> bookingValidator.validate(request))
+                .isInstanceOfSatisfying(ValidationError.class, error -> assertThat(error.getReason()).isEqualTo(reason));
+    }
+
+    private static BookingRequest booking(final Consumer<BookingRequest> customizer) {
+        final BookingRequest request = new BookingRequest();
+        request.setOperationIds(List.of(1L));
+        request.setCustomerId(1L);
+        request.setDate(LocalDate.now().plusDays(1));
+        request.setStartTime(LocalTime.of(9, 0));
+        request.setEndTime(LocalTime.of(10, 0));
+        customizer.accept(request);
+        return request;
+    }
+}